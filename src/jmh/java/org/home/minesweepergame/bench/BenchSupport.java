@@ -0,0 +1,24 @@
+package org.home.minesweepergame.bench;
+
+// Shared settings for the benchmark harnesses in this package.
+final class BenchSupport {
+
+    private BenchSupport() {
+    }
+
+    // Command-line style arguments that run the application against a private in-memory H2 database
+    // on a random port. Passed as arguments so they override the active profile's datasource settings.
+    static String[] inMemoryDatabaseArgs() {
+        return new String[]{
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--minesweeper.journal.enabled=false" // Nothing to recover into a fresh in-memory database
+        };
+    }
+}
@@ -0,0 +1,403 @@
+package org.home.minesweepergame.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.home.minesweepergame.MinesweeperGameApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.Consumer;
+
+/**
+ * Load test with simulated players against the REST API. Starts the application on an in-memory H2 database,
+ * so it runs offline without Postgres:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Dbench.command="org.home.minesweepergame.bench.LoadGenerator"
+ *
+ * Optional arguments, after the class name: [players] [durationSeconds] [medianThinkMillis]
+ * <p>
+ * Each player creates a game (mostly EASY), reads the board from the delta responses and plays like a person:
+ * flags and chords what its numbers prove, asks for a hint when stuck or guesses, and now and then misclicks.
+ * Between moves it waits a log-normal think time. Won games are submitted as scores, some players then look at
+ * the leaderboard, and everyone starts over. Players share one non-blocking HttpClient, so thousands of them
+ * need only a few threads. The first tenth of the run is warm-up. At the end the generator prints throughput,
+ * errors and latency percentiles per endpoint.
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // Cell codes, as in GameDelta
+    private static final int HIDDEN = -1;
+    private static final int FLAGGED = -2;
+
+    private static final double MISCLICK_RATE = 0.02;
+    private static final double HINT_RATE = 0.5;        // When stuck: ask for a hint, otherwise guess
+    private static final double LEADERBOARD_RATE = 0.3; // After submitting a score
+    private static final double THINK_SIGMA = 0.8;      // Log-normal spread: most moves within 0.3x-3x the median
+    private static final long MAX_THINK_MILLIS = 10_000;
+
+    private final String base;
+    private final long medianThinkMillis;
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final Map<String, LatencyHistogram> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong gamesWon = new AtomicLong();
+    private final AtomicLong gamesLost = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadGenerator(String base, long medianThinkMillis, ExecutorService httpExecutor) {
+        this.base = base;
+        this.medianThinkMillis = medianThinkMillis;
+        this.http = HttpClient.newBuilder().executor(httpExecutor).connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long thinkMillis = args.length > 2 ? Long.parseLong(args[2]) : 500;
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MinesweeperGameApplication.class)
+                .run(BenchSupport.inMemoryDatabaseArgs());
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(4);
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            new LoadGenerator("http://localhost:" + port, thinkMillis, httpExecutor).run(players, seconds);
+        } finally {
+            httpExecutor.shutdownNow();
+            context.close();
+        }
+    }
+
+    private void run(int players, int seconds) throws InterruptedException {
+        long warmUpMillis = seconds * 100L;
+        System.out.printf("%d players, %ds (first %.1fs warm-up), median think time %dms%n",
+                players, seconds, warmUpMillis / 1e3, medianThinkMillis);
+        // Players join spread over the warm-up so they do not all create their first game at once
+        for (int i = 0; i < players; i++) {
+            Player player = new Player("player-" + i);
+            scheduler.schedule(player::newGame, ThreadLocalRandom.current().nextLong(Math.max(1, warmUpMillis)), TimeUnit.MILLISECONDS);
+        }
+        Thread.sleep(warmUpMillis);
+        recording = true;
+        long start = System.nanoTime();
+        for (int elapsed = 10; elapsed < seconds - warmUpMillis / 1000; elapsed += 10) {
+            Thread.sleep(10_000);
+            long requests = endpoints.values().stream().mapToLong(LatencyHistogram::count).sum();
+            System.out.printf("  %3ds  %,.0f req/s%n", elapsed, requests / ((System.nanoTime() - start) / 1e9));
+        }
+        Thread.sleep(Math.max(0, seconds * 1000L - warmUpMillis - (System.nanoTime() - start) / 1_000_000));
+        recording = false;
+        double measured = (System.nanoTime() - start) / 1e9;
+        running = false;
+        scheduler.shutdownNow();
+        for (int i = 0; i < 100 && inFlight.get() > 0; i++) {
+            Thread.sleep(50);
+        }
+        report(measured);
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%nGames won %d, lost %d%n", gamesWon.get(), gamesLost.get());
+        System.out.printf("%-18s %9s %8s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(endpoints).entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            total += h.count();
+            System.out.printf("%-18s %9d %8.0f %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), h.count(), h.count() / seconds,
+                    h.errors(), h.percentile(50) / 1e3, h.percentile(90) / 1e3, h.percentile(99) / 1e3,
+                    h.percentile(99.9) / 1e3, h.max() / 1e3);
+        }
+        System.out.printf("%-18s %9d %8.0f%n", "total", total, total / seconds);
+    }
+
+    // Sends a request without blocking and passes the parsed JSON body to `onSuccess`; any failure restarts the player.
+    private void send(Player player, String endpoint, HttpRequest request, Consumer<JsonNode> onSuccess) {
+        if (!running) return;
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            inFlight.decrementAndGet();
+            boolean ok = failure == null && response.statusCode() / 100 == 2;
+            if (recording) {
+                LatencyHistogram histogram = endpoints.computeIfAbsent(endpoint, key -> new LatencyHistogram());
+                histogram.record((System.nanoTime() - start) / 1_000);
+                if (!ok) histogram.recordError();
+            }
+            if (!running) return;
+            try {
+                if (!ok) {
+                    player.newGameLater();
+                    return;
+                }
+                onSuccess.accept(response.body().isEmpty() ? null : JSON.readTree(response.body()));
+            } catch (Exception e) {
+                player.newGameLater();
+            }
+        });
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+    }
+
+    private long thinkTime() {
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Math.min(MAX_THINK_MILLIS, Math.round(medianThinkMillis * Math.exp(THINK_SIGMA * gaussian)));
+    }
+
+    // One simulated person. Only one request per player is in flight, so its state needs no locking.
+    private final class Player {
+        private final String name;
+        private String gameId;
+        private String difficulty;
+        private int rows;
+        private int cols;
+        private int[] cells;                                 // Local view of the board, GameDelta codes
+        private final ArrayDeque<int[]> hinted = new ArrayDeque<>(); // {row, col, isMine}
+
+        Player(String name) {
+            this.name = name;
+        }
+
+        void newGame() {
+            double roll = ThreadLocalRandom.current().nextDouble();
+            String chosen = roll < 0.6 ? "EASY" : roll < 0.9 ? "MEDIUM" : "HARD";
+            send(this, "POST create", post("/api/game/create", "{\"difficulty\":\"" + chosen + "\"}"), game -> {
+                gameId = game.get("gameId").asText();
+                difficulty = chosen;
+                rows = game.get("rows").asInt();
+                cols = game.get("cols").asInt();
+                cells = new int[rows * cols];
+                Arrays.fill(cells, HIDDEN);
+                hinted.clear();
+                int row = ThreadLocalRandom.current().nextInt(rows);
+                int col = ThreadLocalRandom.current().nextInt(cols);
+                later(() -> move("reveal", row, col));
+            });
+        }
+
+        void newGameLater() {
+            later(this::newGame);
+        }
+
+        private void later(Runnable step) {
+            if (!running) return;
+            try {
+                scheduler.schedule(step, thinkTime(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // Scheduler already shut down at the end of the run
+            }
+        }
+
+        private void move(String action, int row, int col) {
+            send(this, "POST " + action, post("/api/game/" + gameId + "/" + action + "/" + row + "/" + col + "?delta=true", null),
+                    this::onDelta);
+        }
+
+        private void onDelta(JsonNode delta) {
+            if (delta == null) { // 404: the move arrived after the game ended
+                newGameLater();
+                return;
+            }
+            for (JsonNode change : delta.get("changes")) {
+                cells[change.get(0).asInt() * cols + change.get(1).asInt()] = change.get(2).asInt();
+            }
+            String status = delta.get("status").asText();
+            if ("WON".equals(status)) {
+                gamesWon.incrementAndGet();
+                later(this::submitScore);
+            } else if ("LOST".equals(status)) {
+                gamesLost.incrementAndGet();
+                newGameLater();
+            } else {
+                later(this::nextMove);
+            }
+        }
+
+        private void submitScore() {
+            String body = "{\"gameId\":\"" + gameId + "\",\"playerName\":\"" + name + "\"}";
+            send(this, "POST scores/add", post("/api/game/scores/add", body), score -> {
+                if (ThreadLocalRandom.current().nextDouble() < LEADERBOARD_RATE) {
+                    later(() -> send(this, "GET scores", get("/api/game/scores/" + difficulty), top -> newGameLater()));
+                } else {
+                    newGameLater();
+                }
+            });
+        }
+
+        private void nextMove() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < MISCLICK_RATE) {
+                guess();
+                return;
+            }
+            while (!hinted.isEmpty()) {
+                int[] hint = hinted.poll();
+                if (cells[hint[0] * cols + hint[1]] == HIDDEN) {
+                    move(hint[2] == 1 ? "flag" : "reveal", hint[0], hint[1]);
+                    return;
+                }
+            }
+            if (playObviousMove()) {
+                return;
+            }
+            if (random.nextDouble() < HINT_RATE) {
+                send(this, "GET hint", get("/api/game/" + gameId + "/hint"), hint -> {
+                    for (JsonNode cell : hint.get("mineCells")) hinted.add(new int[]{cell.get(0).asInt(), cell.get(1).asInt(), 1});
+                    for (JsonNode cell : hint.get("safeCells")) hinted.add(new int[]{cell.get(0).asInt(), cell.get(1).asInt(), 0});
+                    if (hinted.isEmpty()) {
+                        later(this::guess);
+                    } else {
+                        later(this::nextMove);
+                    }
+                });
+            } else {
+                guess();
+            }
+        }
+
+        // A number whose flags are complete is chorded; one whose hidden neighbours must all be mines gets a flag.
+        private boolean playObviousMove() {
+            int offset = ThreadLocalRandom.current().nextInt(cells.length);
+            for (int i = 0; i < cells.length; i++) {
+                int index = (offset + i) % cells.length;
+                int number = cells[index];
+                if (number <= 0) continue;
+                int row = index / cols;
+                int col = index % cols;
+                int hidden = 0;
+                int flagged = 0;
+                int hiddenIndex = -1;
+                for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+                    for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                        int state = cells[r * cols + c];
+                        if (state == HIDDEN) {
+                            hidden++;
+                            hiddenIndex = r * cols + c;
+                        } else if (state == FLAGGED) {
+                            flagged++;
+                        }
+                    }
+                }
+                if (hidden == 0) continue;
+                if (flagged == number) {
+                    move("chord", row, col);
+                    return true;
+                }
+                if (hidden + flagged == number) {
+                    move("flag", hiddenIndex / cols, hiddenIndex % cols);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void guess() {
+            int offset = ThreadLocalRandom.current().nextInt(cells.length);
+            for (int i = 0; i < cells.length; i++) {
+                int index = (offset + i) % cells.length;
+                if (cells[index] == HIDDEN) {
+                    move("reveal", index / cols, index % cols);
+                    return;
+                }
+            }
+            newGameLater(); // Nothing left to click: only flags remain, so the local view is stale
+        }
+    }
+
+    /**
+     * Log-linear latency histogram in microseconds, in the style of HdrHistogram: exact below 64us, then 32
+     * buckets per power of two (about 3% resolution), lock-free to record into.
+     */
+    static final class LatencyHistogram {
+        private static final int LINEAR = 64;
+        private static final int PER_OCTAVE = 32;
+        private final AtomicLongArray counts = new AtomicLongArray(LINEAR + 40 * PER_OCTAVE);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long micros) {
+            counts.incrementAndGet(Math.min(counts.length() - 1, indexOf(Math.max(0, micros))));
+            total.incrementAndGet();
+            max.accumulate(micros);
+        }
+
+        void recordError() {
+            errors.incrementAndGet();
+        }
+
+        long count() {
+            return total.get();
+        }
+
+        long errors() {
+            return errors.get();
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        // Highest value (us) in the bucket holding the given percentile.
+        long percentile(double percentile) {
+            long target = Math.max(1, (long) Math.ceil(percentile / 100 * total.get()));
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= target) {
+                    return Math.min(max.get(), upperBoundOf(i));
+                }
+            }
+            return max.get();
+        }
+
+        private static int indexOf(long micros) {
+            if (micros < LINEAR) {
+                return (int) micros;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(micros) - 5; // Keep the top 6 bits: 32..63
+            return LINEAR + (shift - 1) * PER_OCTAVE + (int) (micros >>> shift) - PER_OCTAVE;
+        }
+
+        private static long upperBoundOf(int index) {
+            if (index < LINEAR) {
+                return index;
+            }
+            int shift = (index - LINEAR) / PER_OCTAVE + 1;
+            long top = (index - LINEAR) % PER_OCTAVE + PER_OCTAVE;
+            return ((top + 1) << shift) - 1;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.home.minesweepergame.bench;
+
+import org.home.minesweepergame.service.NoGuessGenerator;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Measures no-guess board generation latency per standard difficulty, first click in the centre:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Dbench.command="org.home.minesweepergame.bench.NoGuessBenchmark"
+ *
+ * Optional arguments, after the class name: [boardsPerDifficulty] [parallelism (0 = cores)] [budgetMillis]
+ */
+public class NoGuessBenchmark {
+
+    private static final int[][] DIFFICULTIES = {{9, 9, 10}, {16, 16, 40}, {16, 30, 99}};
+    private static final String[] NAMES = {"EASY", "MEDIUM", "HARD"};
+
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        long budgetMillis = args.length > 2 ? Long.parseLong(args[2]) : 100;
+        NoGuessGenerator generator = new NoGuessGenerator(Duration.ofMillis(budgetMillis), parallelism);
+        try {
+            for (int i = 0; i < DIFFICULTIES.length; i++) {
+                run(generator, NAMES[i] + " (warm-up)", DIFFICULTIES[i], boards / 4);
+            }
+            for (int i = 0; i < DIFFICULTIES.length; i++) {
+                run(generator, NAMES[i], DIFFICULTIES[i], boards);
+            }
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    private static void run(NoGuessGenerator generator, String label, int[] settings, int boards) {
+        long[] latencies = new long[boards];
+        int fallbacks = 0;
+        long candidates = 0;
+        for (int i = 0; i < boards; i++) {
+            long start = System.nanoTime();
+            NoGuessGenerator.Result result = generator.generate(settings[0], settings[1], settings[2],
+                    settings[0] / 2, settings[1] / 2, i * 0x2545F4914F6CDD1DL);
+            latencies[i] = System.nanoTime() - start;
+            candidates += result.getCandidatesTried();
+            if (!result.isNoGuess()) fallbacks++;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-18s p50=%7.2fms  p99=%7.2fms  max=%7.2fms  candidates/board=%5.1f  fallbacks=%d%n", label,
+                latencies[boards / 2] / 1e6, latencies[(int) (boards * 0.99)] / 1e6, latencies[boards - 1] / 1e6,
+                (double) candidates / boards, fallbacks);
+    }
+}
@@ -0,0 +1,181 @@
+package org.home.minesweepergame.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.home.minesweepergame.MinesweeperGameApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one flag toggle per HTTP request against the same moves sent over the /ws/game channel.
+ * Starts the application on an in-memory H2 database, so it runs without Postgres:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Dbench.command="org.home.minesweepergame.bench.PushChannelBenchmark"
+ *
+ * Optional arguments, after the class name: [clients] [movesPerClient]
+ */
+public class PushChannelBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int moves = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MinesweeperGameApplication.class)
+                .run(BenchSupport.inMemoryDatabaseArgs());
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+
+            run("rest (warm-up)", clients, moves / 4, () -> new RestPlayer(base));
+            run("websocket (warm-up)", clients, moves / 4, () -> new SocketPlayer(base, port));
+            run("rest", clients, moves, () -> new RestPlayer(base));
+            run("websocket", clients, moves, () -> new SocketPlayer(base, port));
+        } finally {
+            context.close();
+        }
+    }
+
+    private interface Player extends AutoCloseable {
+        // Toggles the flag on the player's cell and waits until the change is confirmed
+        void toggleFlag() throws Exception;
+    }
+
+    private interface PlayerFactory {
+        Player create() throws Exception;
+    }
+
+    private static void run(String label, int clients, int moves, PlayerFactory factory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long[][] latencies = new long[clients][moves];
+        long start = System.nanoTime();
+        Future<?>[] futures = new Future<?>[clients];
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            futures[c] = executor.submit(() -> {
+                try (Player player = factory.create()) {
+                    for (int i = 0; i < moves; i++) {
+                        long t0 = System.nanoTime();
+                        player.toggleFlag();
+                        latencies[client][i] = System.nanoTime() - t0;
+                    }
+                }
+                return null;
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-20s moves/s=%9.0f  p50=%7.1fus  p99=%7.1fus  max=%8.1fus%n", label,
+                all.length / (elapsed / 1e9), all[all.length / 2] / 1e3, all[(int) (all.length * 0.99)] / 1e3,
+                all[all.length - 1] / 1e3);
+    }
+
+    // Creates an EASY game, opens it and returns the first cell that is still hidden.
+    private static int[] startGame(String base, String[] gameIdOut) throws Exception {
+        JsonNode game = post(base + "/api/game/create", "{\"difficulty\":\"EASY\"}");
+        String gameId = game.get("gameId").asText();
+        JsonNode board = post(base + "/api/game/" + gameId + "/reveal/4/4", "").get("board");
+        gameIdOut[0] = gameId;
+        for (int r = 0; r < board.size(); r++) {
+            for (int c = 0; c < board.get(r).size(); c++) {
+                if (!board.get(r).get(c).get("revealed").asBoolean()) {
+                    return new int[]{r, c};
+                }
+            }
+        }
+        throw new IllegalStateException("No hidden cell left");
+    }
+
+    private static JsonNode post(String url, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return JSON.readTree(HTTP.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private static final class RestPlayer implements Player {
+        private final HttpRequest flag;
+
+        RestPlayer(String base) throws Exception {
+            String[] gameId = new String[1];
+            int[] cell = startGame(base, gameId);
+            this.flag = HttpRequest.newBuilder(URI.create(base + "/api/game/" + gameId[0] + "/flag/" + cell[0] + "/" + cell[1] + "?delta=true"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+
+        @Override
+        public void toggleFlag() throws Exception {
+            HttpResponse<String> response = HTTP.send(flag, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class SocketPlayer implements Player, WebSocket.Listener {
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        private final StringBuilder partial = new StringBuilder();
+        private final WebSocket socket;
+        private final String move;
+
+        SocketPlayer(String base, int port) throws Exception {
+            String[] gameId = new String[1];
+            int[] cell = startGame(base, gameId);
+            this.move = "{\"type\":\"FLAG\",\"row\":" + cell[0] + ",\"col\":" + cell[1] + "}";
+            this.socket = HTTP.newWebSocketBuilder()
+                    .buildAsync(URI.create("ws://localhost:" + port + "/ws/game/" + gameId[0]), this)
+                    .get(10, TimeUnit.SECONDS);
+            messages.take(); // SNAPSHOT
+        }
+
+        @Override
+        public void toggleFlag() throws Exception {
+            socket.sendText(move, true).join();
+            String reply = messages.poll(10, TimeUnit.SECONDS);
+            if (reply == null || !reply.contains("\"DELTA\"")) throw new IllegalStateException("Unexpected reply: " + reply);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                messages.add(partial.toString());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public void close() {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done").join();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.home.minesweepergame.bench;
+
+import org.home.minesweepergame.MinesweeperGameApplication;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.Score;
+import org.home.minesweepergame.repository.ScoreRepository;
+import org.home.minesweepergame.service.ScoreIngestion;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Compares score writes through a synchronous repository.save per score against the batched ScoreIngestion queue.
+ * The batched run is timed until the last score is in the table, not just queued. Starts the application on an
+ * in-memory H2 database, so it runs without Postgres:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Dbench.command="org.home.minesweepergame.bench.ScoreIngestionBenchmark"
+ *
+ * Optional arguments, after the class name: [threads] [scoresPerThread]
+ */
+public class ScoreIngestionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int scores = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MinesweeperGameApplication.class)
+                .run(BenchSupport.inMemoryDatabaseArgs());
+        try {
+            ScoreRepository repository = context.getBean(ScoreRepository.class);
+            ScoreIngestion ingestion = context.getBean(ScoreIngestion.class);
+
+            run("save (warm-up)", threads, scores / 4, repository, repository::save);
+            run("batched (warm-up)", threads, scores / 4, repository, ingestion::submit);
+            run("save", threads, scores, repository, repository::save);
+            run("batched", threads, scores, repository, ingestion::submit);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String label, int threads, int scores, ScoreRepository repository, Consumer<Score> writer) throws Exception {
+        long expected = repository.count() + (long) threads * scores;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        Future<?>[] futures = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures[t] = executor.submit(() -> {
+                for (int i = 0; i < scores; i++) {
+                    writer.accept(new Score("bench-" + thread + "-" + i, "bench", 1_000 + i, Difficulty.EASY));
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long submitted = System.nanoTime();
+        while (repository.count() < expected) {
+            Thread.sleep(1);
+        }
+        long stored = System.nanoTime();
+        executor.shutdown();
+
+        double seconds = (stored - start) / 1e9;
+        System.out.printf("%-18s %d scores in %.2fs = %,.0f scores/s (submit phase %.2fs)%n",
+                label, (long) threads * scores, seconds, threads * scores / seconds, (submitted - start) / 1e9);
+    }
+}
@@ -0,0 +1,192 @@
+package org.home.minesweepergame.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.home.minesweepergame.MinesweeperGameApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares the request thread modes of ThreadingConfig under mixed traffic: clients toggling flags (no database)
+ * next to clients submitting scores synchronously against a slow database. Every JDBC connection checkout is
+ * delayed to stand in for a slow Postgres. Tomcat's pool is capped at 64 threads and every mode gets the same
+ * 10 connections, so in the platform mode the score traffic alone can occupy every Tomcat thread. Starts the
+ * application on an in-memory H2 database, once per mode:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Dbench.command="org.home.minesweepergame.bench.ThreadModeBenchmark"
+ *
+ * Optional arguments, after the class name: [platform|offload|virtual|all] [clickClients] [scoreClients] [seconds] [dbDelayMillis]
+ * The virtual run needs Java 21+ and is skipped on older JVMs.
+ */
+public class ThreadModeBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+    private static final int POOL_SIZE = 10;
+
+    public static void main(String[] args) throws Exception {
+        String modes = args.length > 0 ? args[0] : "all";
+        int clickClients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int scoreClients = args.length > 2 ? Integer.parseInt(args[2]) : 128;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        SlowDatabase.delayMillis = args.length > 4 ? Long.parseLong(args[4]) : 50;
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> results = new ArrayList<>();
+        for (String mode : List.of("platform", "offload", "virtual")) {
+            if (!modes.equals("all") && !modes.equals(mode)) continue;
+            if (mode.equals("virtual") && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+                results.add(String.format("%-9s skipped: virtual threads need Java 21+, this JVM is Java %s", mode, JavaVersion.getJavaVersion()));
+                continue;
+            }
+            results.addAll(run(mode, clickClients, scoreClients, seconds));
+        }
+        System.out.printf("%n%d click clients, %d score clients, %ds, %dms per database call, %d connections%n",
+                clickClients, scoreClients, seconds, SlowDatabase.delayMillis, POOL_SIZE);
+        System.out.printf("%-9s %-6s %9s %8s %6s %9s %9s %12s%n", "mode", "load", "requests", "req/s", "errors", "p50 ms", "p99 ms", "peak threads");
+        results.forEach(System.out::println);
+    }
+
+    private static List<String> run(String mode, int clickClients, int scoreClients, int seconds) throws Exception {
+        List<String> args = new ArrayList<>(List.of(BenchSupport.inMemoryDatabaseArgs()));
+        args.add("--minesweeper.threads.mode=" + mode);
+        args.add("--server.tomcat.threads.max=64");
+        args.add("--minesweeper.threads.db-pool-size=" + POOL_SIZE); // Hikari's default, which the platform mode keeps
+        args.add("--minesweeper.scores.async=false"); // Each insert runs in the request, on the mode's threads
+        args.add("--minesweeper.no-guess.time-budget=PT10S"); // Setup wins its games through auto mode
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MinesweeperGameApplication.class, SlowDatabase.class)
+                .run(args.toArray(String[]::new));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        try {
+            String base = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            LoadGenerator.LatencyHistogram clicks = new LoadGenerator.LatencyHistogram();
+            LoadGenerator.LatencyHistogram scores = new LoadGenerator.LatencyHistogram();
+            long warmUpEnd = System.nanoTime() + seconds * 200_000_000L; // First fifth is warm-up
+            long end = System.nanoTime() + seconds * 1_000_000_000L;
+
+            ExecutorService executor = Executors.newFixedThreadPool(clickClients + scoreClients);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < scoreClients; i++) {
+                futures.add(executor.submit(() -> {
+                    String gameId = wonGame(base);
+                    HttpRequest submit = post(base + "/api/game/scores/add", "{\"gameId\":\"" + gameId + "\",\"playerName\":\"bench\"}");
+                    loop(submit, scores, warmUpEnd, end);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < clickClients; i++) {
+                futures.add(executor.submit(() -> {
+                    String[] gameId = new String[1];
+                    int[] cell = hiddenCell(base, gameId);
+                    loop(post(base + "/api/game/" + gameId[0] + "/flag/" + cell[0] + "/" + cell[1] + "?delta=true", ""), clicks, warmUpEnd, end);
+                    return null;
+                }));
+            }
+            while (System.nanoTime() < warmUpEnd) {
+                Thread.sleep(10);
+            }
+            threads.resetPeakThreadCount();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            double measured = (end - warmUpEnd) / 1e9;
+            int peak = threads.getPeakThreadCount();
+            return List.of(row(mode, "clicks", clicks, measured, peak), row(mode, "scores", scores, measured, peak));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void loop(HttpRequest request, LoadGenerator.LatencyHistogram histogram, long warmUpEnd, long end) throws Exception {
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            int status = HTTP.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (start >= warmUpEnd) {
+                histogram.record((System.nanoTime() - start) / 1_000);
+                if (status / 100 != 2) histogram.recordError();
+            }
+        }
+    }
+
+    // Peak thread count covers the whole JVM (client threads included) and only platform threads.
+    private static String row(String mode, String load, LoadGenerator.LatencyHistogram h, double seconds, int peakThreads) {
+        return String.format("%-9s %-6s %9d %8.0f %6d %9.2f %9.2f %12d", mode, load, h.count(), h.count() / seconds, h.errors(),
+                h.percentile(50) / 1e3, h.percentile(99) / 1e3, peakThreads);
+    }
+
+    // A no-guess EASY game won through the hint engine, so its score can be submitted.
+    private static String wonGame(String base) throws Exception {
+        String gameId = send(post(base + "/api/game/create", "{\"difficulty\":\"EASY\",\"noGuess\":true}")).get("gameId").asText();
+        send(post(base + "/api/game/" + gameId + "/reveal/4/4", ""));
+        JsonNode game = send(post(base + "/api/game/" + gameId + "/hint/auto", ""));
+        if (!"WON".equals(game.get("status").asText())) throw new IllegalStateException("Auto mode did not win " + gameId);
+        return gameId;
+    }
+
+    // Opens an EASY game and returns a cell that is still hidden.
+    private static int[] hiddenCell(String base, String[] gameIdOut) throws Exception {
+        gameIdOut[0] = send(post(base + "/api/game/create", "{\"difficulty\":\"EASY\"}")).get("gameId").asText();
+        JsonNode board = send(post(base + "/api/game/" + gameIdOut[0] + "/reveal/4/4", "")).get("board");
+        for (int r = 0; r < board.size(); r++) {
+            for (int c = 0; c < board.get(r).size(); c++) {
+                if (!board.get(r).get(c).get("revealed").asBoolean()) return new int[]{r, c};
+            }
+        }
+        throw new IllegalStateException("No hidden cell left");
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static JsonNode send(HttpRequest request) throws Exception {
+        return JSON.readTree(HTTP.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    // Registered as an extra source (not scanned): holds every checked-out connection for the delay, like a slow query.
+    static class SlowDatabase implements BeanPostProcessor {
+        static volatile long delayMillis;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    try {
+                        Thread.sleep(delayMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return connection;
+                }
+            };
+        }
+    }
+}
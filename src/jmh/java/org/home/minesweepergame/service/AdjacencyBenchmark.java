@@ -0,0 +1,128 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.ChunkedBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjacent-mine counting, row bitmaps (see AdjacencyBits) against the per-cell loops they replaced: the whole
+ * layout of a standard board in MineLayout, and every chunk of a 1000x1000 ChunkedBoard. Run through the jmh profile:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="AdjacencyBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdjacencyBenchmark {
+
+    @State(Scope.Thread)
+    public static class Layout {
+        // rows x cols x mines: EASY, MEDIUM, HARD and the 50x50 CUSTOM board of GameEngineBenchmark
+        @Param({"9x9x10", "16x16x40", "16x30x99", "50x50x250"})
+        public String size;
+
+        int rows, cols;
+        int[] placed;
+        boolean[] mineCells;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            String[] parts = size.split("x");
+            rows = Integer.parseInt(parts[0]);
+            cols = Integer.parseInt(parts[1]);
+            placed = MineLayout.place(rows, cols, Integer.parseInt(parts[2]), rows / 2, cols / 2, 42L);
+            mineCells = new boolean[rows * cols];
+            for (int index : placed) {
+                mineCells[index] = true;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Large {
+        static final int SIZE = 1000;
+
+        @Param({"20000", "150000"})
+        public int mines;
+
+        ChunkedBoard board;
+
+        // A started board with the mines of every chunk generated, so only the counting is timed
+        @Setup(Level.Invocation)
+        public void setUp() {
+            board = new ChunkedBoard("bench", SIZE, SIZE, mines, 42L);
+            board.start(SIZE / 2, SIZE / 2);
+            for (int r = 0; r < SIZE; r += ChunkedBoard.CHUNK_SIZE) {
+                for (int c = 0; c < SIZE; c += ChunkedBoard.CHUNK_SIZE) {
+                    board.isMine(r, c);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] layoutRowBits(Layout state) {
+        return MineLayout.countByRows(state.rows, state.cols, state.placed);
+    }
+
+    @Benchmark
+    public byte[] layoutPerMine(Layout state) {
+        return MineLayout.countByMines(state.rows, state.cols, state.mineCells);
+    }
+
+    @Benchmark
+    public int chunksRowBits(Large state) {
+        int sum = 0;
+        for (int r = 0; r < Large.SIZE; r += ChunkedBoard.CHUNK_SIZE) {
+            for (int c = 0; c < Large.SIZE; c += ChunkedBoard.CHUNK_SIZE) {
+                sum += state.board.getAdjacentMines(r, c); // Materializes the chunk
+            }
+        }
+        return sum;
+    }
+
+    // The loop ChunkedBoard used before AdjacencyBits: eight bounds-checked mine lookups per cell.
+    @Benchmark
+    public int chunksPerCell(Large state) {
+        ChunkedBoard board = state.board;
+        int sum = 0;
+        for (int originRow = 0; originRow < Large.SIZE; originRow += ChunkedBoard.CHUNK_SIZE) {
+            for (int originCol = 0; originCol < Large.SIZE; originCol += ChunkedBoard.CHUNK_SIZE) {
+                byte[] cells = new byte[ChunkedBoard.CHUNK_SIZE * ChunkedBoard.CHUNK_SIZE];
+                int height = Math.min(ChunkedBoard.CHUNK_SIZE, Large.SIZE - originRow);
+                int width = Math.min(ChunkedBoard.CHUNK_SIZE, Large.SIZE - originCol);
+                for (int r = 0; r < height; r++) {
+                    for (int c = 0; c < width; c++) {
+                        int row = originRow + r;
+                        int col = originCol + c;
+                        int count = 0;
+                        for (int dr = -1; dr <= 1; dr++) {
+                            for (int dc = -1; dc <= 1; dc++) {
+                                if ((dr != 0 || dc != 0) && board.isInside(row + dr, col + dc) && board.isMine(row + dr, col + dc)) {
+                                    count++;
+                                }
+                            }
+                        }
+                        cells[(r << ChunkedBoard.CHUNK_SHIFT) | c] = (byte) ((count << 4) | (board.isMine(row, col) ? 1 : 0));
+                    }
+                }
+                sum += cells[0];
+            }
+        }
+        return sum;
+    }
+}
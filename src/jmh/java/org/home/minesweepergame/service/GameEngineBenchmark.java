@@ -0,0 +1,234 @@
+package org.home.minesweepergame.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.home.minesweepergame.dtos.GameCreationRequest;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of GameService on plain objects (no Spring, no database): game creation, the first click
+ * (mine placement, adjacency and the opening flood fill), a large flood fill on its own, a chord and the
+ * winning reveal that ends in checkWinCondition. Run through the jmh profile, which adds the gc profiler:
+ *
+ *   mvn -Pjmh test-compile exec:exec
+ *
+ * The moves after the first click each start from a fresh board, rebuilt in an untimed per-invocation
+ * setup from one seeded layout, so results stay comparable across engine changes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameEngineBenchmark {
+
+    private static final long SEED = 42L;
+    private static final String GAME_ID = "bench";
+
+    @State(Scope.Thread)
+    public static class Engine {
+        // CUSTOM is a 50x50 board at 10% density, which opens large regions on a reveal
+        @Param({"EASY", "MEDIUM", "HARD", "CUSTOM"})
+        public Difficulty size;
+
+        GameStore store;
+        GameService gameService;
+        GameCreationRequest request;
+        MineLayout layout;
+        int rows, cols, mines;
+
+        // Cells picked once from the layout
+        int floodRow, floodCol; // Zero cell with the largest opening
+        int chordRow, chordCol; // Numbered cell with the most safe neighbours for a chord to reveal
+        int lastRow, lastCol;   // Numbered cell left for the winning reveal
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            GameLocks gameLocks = new GameLocks();
+            GamePersistence persistence = new GamePersistence(null, null, null, gameLocks, false, 500);
+            store = new GameStore(gameLocks, persistence, 10_000, 512, Duration.ofHours(1), Duration.ofHours(1));
+            gameService = new GameService(store, gameLocks, persistence,
+                    new GameEventPublisher(), new BoardPool(0), // Pool disabled: createGame and firstClick generate layouts inline
+                    new NoGuessGenerator(Duration.ofMillis(100), 1), new GameMetrics(new SimpleMeterRegistry(), store),
+                    new GameEventLog(0.0), new ClusterMembership("", ""), // Event log off: the application writes it asynchronously
+                    new MoveJournal(persistence, false, "", DataSize.ofMegabytes(1), Duration.ZERO, false)); // See MoveJournalBenchmark
+
+            request = new GameCreationRequest();
+            if (size == Difficulty.CUSTOM) {
+                rows = 50;
+                cols = 50;
+                mines = 250;
+                request.setRows(rows);
+                request.setCols(cols);
+                request.setMines(mines);
+            } else {
+                int[] settings = GameService.DIFFICULTY_SETTINGS.get(size);
+                rows = settings[0];
+                cols = settings[1];
+                mines = settings[2];
+                request.setDifficulty(size);
+            }
+            layout = MineLayout.forFirstClick(rows, cols, mines, rows / 2, cols / 2, SEED);
+            pickCells();
+        }
+
+        // An in-progress board with the layout's mines placed and nothing revealed, stored under GAME_ID.
+        GameBoard freshBoard() {
+            GameBoard board = new GameBoard(GAME_ID, rows, cols, mines, GameStatus.IN_PROGRESS, size);
+            board.setStartTime(System.currentTimeMillis());
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    board.setMine(r, c, layout.isMine(r, c));
+                    board.setAdjacentMines(r, c, layout.getAdjacentMines(r, c));
+                }
+            }
+            store.put(board);
+            return board;
+        }
+
+        private void pickCells() {
+            int bestOpening = -1;
+            int bestChord = -1;
+            lastRow = -1;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    if (layout.isMine(r, c)) continue;
+                    if (layout.getAdjacentMines(r, c) == 0) {
+                        int opening = openingSize(r, c);
+                        if (opening > bestOpening) {
+                            bestOpening = opening;
+                            floodRow = r;
+                            floodCol = c;
+                        }
+                        continue;
+                    }
+                    int safeNeighbours = 0;
+                    for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                        for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                            if ((nr != r || nc != c) && !layout.isMine(nr, nc)) safeNeighbours++;
+                        }
+                    }
+                    if (safeNeighbours > bestChord) {
+                        bestChord = safeNeighbours;
+                        chordRow = r;
+                        chordCol = c;
+                    }
+                    if (lastRow < 0) {
+                        lastRow = r;
+                        lastCol = c;
+                    }
+                }
+            }
+        }
+
+        // Cells a reveal of the zero cell (row, col) opens, numbered border included.
+        private int openingSize(int row, int col) {
+            boolean[] seen = new boolean[rows * cols];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(row * cols + col);
+            seen[row * cols + col] = true;
+            int opened = 0;
+            while (!queue.isEmpty()) {
+                int cell = queue.poll();
+                opened++;
+                int r = cell / cols;
+                int c = cell % cols;
+                if (layout.getAdjacentMines(r, c) != 0) continue;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                        int next = nr * cols + nc;
+                        if (!seen[next] && !layout.isMine(nr, nc)) {
+                            seen[next] = true;
+                            queue.add(next);
+                        }
+                    }
+                }
+            }
+            return opened;
+        }
+    }
+
+    // The board states extend Engine rather than taking it as a setup argument: each needs its own engine and store.
+    @State(Scope.Thread)
+    public static class FreshBoard extends Engine {
+        @Setup(Level.Invocation)
+        public void setUpBoard() {
+            freshBoard();
+        }
+    }
+
+    // The chord cell is revealed and its mine neighbours are flagged, so the chord opens all the others.
+    @State(Scope.Thread)
+    public static class ChordBoard extends Engine {
+        @Setup(Level.Invocation)
+        public void setUpBoard() {
+            GameBoard board = freshBoard();
+            board.setRevealed(chordRow, chordCol, true);
+            for (int r = Math.max(0, chordRow - 1); r <= Math.min(rows - 1, chordRow + 1); r++) {
+                for (int c = Math.max(0, chordCol - 1); c <= Math.min(cols - 1, chordCol + 1); c++) {
+                    if (board.isMine(r, c)) board.setFlagged(r, c, true);
+                }
+            }
+        }
+    }
+
+    // Every safe cell but one is revealed.
+    @State(Scope.Thread)
+    public static class AlmostWonBoard extends Engine {
+        @Setup(Level.Invocation)
+        public void setUpBoard() {
+            GameBoard board = freshBoard();
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    if (!board.isMine(r, c) && (r != lastRow || c != lastCol)) {
+                        board.setRevealed(r, c, true);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public GameBoard createGame(Engine engine) {
+        return engine.gameService.createGame(engine.request);
+    }
+
+    @Benchmark
+    public GameBoard firstClick(Engine engine) {
+        GameBoard game = engine.gameService.createGame(engine.request);
+        return engine.gameService.revealCell(game.getGameId(), engine.rows / 2, engine.cols / 2);
+    }
+
+    @Benchmark
+    public GameBoard floodFill(FreshBoard board) {
+        return board.gameService.revealCell(GAME_ID, board.floodRow, board.floodCol);
+    }
+
+    @Benchmark
+    public GameBoard chordClick(ChordBoard board) {
+        return board.gameService.chordClick(GAME_ID, board.chordRow, board.chordCol);
+    }
+
+    @Benchmark
+    public GameBoard winningReveal(AlmostWonBoard board) {
+        return board.gameService.revealCell(GAME_ID, board.lastRow, board.lastCol);
+    }
+}
@@ -0,0 +1,73 @@
+package org.home.minesweepergame.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.home.minesweepergame.dtos.GameCreationRequest;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of flag toggles when every thread plays its own game, so only the per-game lock stripes
+ * (see GameLocks) are shared. Compare the total across thread counts to see how it scales:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="GameLocksBenchmark -t 1"
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="GameLocksBenchmark -t 4"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLocksBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        GameService gameService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            GameLocks gameLocks = new GameLocks();
+            GamePersistence persistence = new GamePersistence(null, null, null, gameLocks, false, 500);
+            GameStore store = new GameStore(gameLocks, persistence, 10_000, 512, Duration.ofHours(1), Duration.ofHours(1));
+            gameService = new GameService(store, gameLocks, persistence,
+                    new GameEventPublisher(), new BoardPool(0),
+                    new NoGuessGenerator(Duration.ofMillis(100), 1), new GameMetrics(new SimpleMeterRegistry(), store),
+                    new GameEventLog(0.0), new ClusterMembership("", ""),
+                    new MoveJournal(persistence, false, "", DataSize.ofMegabytes(1), Duration.ZERO, false));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OwnGame {
+        String gameId;
+
+        @Setup(Level.Trial)
+        public void setUp(Service service) {
+            GameCreationRequest request = new GameCreationRequest();
+            request.setDifficulty(Difficulty.EASY);
+            request.setSeed(42L);
+            GameBoard game = service.gameService.createGame(request);
+            service.gameService.revealCell(game.getGameId(), 4, 4);
+            gameId = game.getGameId();
+        }
+    }
+
+    @Benchmark
+    public GameBoard flag(Service service, OwnGame game) {
+        return service.gameService.flagCell(game.gameId, 0, 0); // Toggles, so every call changes the board
+    }
+}
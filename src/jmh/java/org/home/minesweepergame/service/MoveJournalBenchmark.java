@@ -0,0 +1,155 @@
+package org.home.minesweepergame.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.home.minesweepergame.dtos.GameActionRequest;
+import org.home.minesweepergame.dtos.GameCreationRequest;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the move journal (see MoveJournal): one flag toggle through GameService with the journal off, with
+ * mapped appends (the default) and with sync-wait, the bare append, and recovery of a journal written by
+ * a number of played games. Run through the jmh profile:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="MoveJournalBenchmark"
+ *
+ * The journal writes to a temporary directory, so the sync-wait numbers depend on the disk behind it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveJournalBenchmark {
+
+    @State(Scope.Thread)
+    public static class Journaled {
+        @Param({"off", "mapped", "sync-wait"})
+        public String journal;
+
+        Path directory;
+        MoveJournal moveJournal;
+        GameService gameService;
+        GameBoard game;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("move-journal-bench");
+            moveJournal = journal(directory, !journal.equals("off"), journal.equals("sync-wait"));
+            gameService = service(moveJournal);
+            game = gameService.createGame(seeded(Difficulty.HARD, 42L));
+            gameService.revealCell(game.getGameId(), 8, 15);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            moveJournal.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Written {
+        @Param({"1000", "10000"})
+        public int games;
+
+        Path directory;
+        long records;
+
+        // Plays each game for up to 40 random moves, journaling them, and leaves the segments behind.
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("move-journal-bench");
+            MoveJournal journal = journal(directory, true, false);
+            GameService gameService = service(journal);
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 0; i < games; i++) {
+                GameBoard game = gameService.createGame(seeded(Difficulty.values()[i % 3], random.nextLong()));
+                gameService.revealCell(game.getGameId(), game.getRows() / 2, game.getCols() / 2);
+                for (int move = 0; move < 40; move++) {
+                    int row = random.nextInt(game.getRows());
+                    int col = random.nextInt(game.getCols());
+                    if (random.nextBoolean() || game.isMine(row, col)) {
+                        gameService.flagCell(game.getGameId(), row, col);
+                    } else {
+                        gameService.revealCell(game.getGameId(), row, col);
+                    }
+                }
+                records += game.getVersion() + 1;
+            }
+            journal.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public GameBoard flag(Journaled state) {
+        return state.gameService.flagCell(state.game.getGameId(), 0, 0); // Toggles, so every call changes the board
+    }
+
+    @Benchmark
+    public void append(Journaled state) {
+        state.moveJournal.appendMove(state.game, GameActionRequest.Type.FLAG, 0, 0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public GameService recover(Written state) {
+        MoveJournal journal = journal(state.directory, true, false);
+        GameService gameService = service(journal);
+        gameService.recoverFromJournal();
+        journal.close();
+        return gameService;
+    }
+
+    private static MoveJournal journal(Path directory, boolean enabled, boolean syncWait) {
+        GameLocks gameLocks = new GameLocks();
+        return new MoveJournal(new GamePersistence(null, null, null, gameLocks, false, 500), enabled, directory.toString(),
+                DataSize.ofMegabytes(64), Duration.ofMillis(10), syncWait);
+    }
+
+    private static GameService service(MoveJournal journal) {
+        GameLocks gameLocks = new GameLocks();
+        GamePersistence persistence = new GamePersistence(null, null, null, gameLocks, false, 500);
+        GameStore store = new GameStore(gameLocks, persistence, 100_000, 1024, Duration.ofHours(1), Duration.ofHours(1));
+        return new GameService(store, gameLocks, persistence,
+                new GameEventPublisher(), new BoardPool(0), new NoGuessGenerator(Duration.ofMillis(100), 1),
+                new GameMetrics(new SimpleMeterRegistry(), store), new GameEventLog(0.0), new ClusterMembership("", ""), journal);
+    }
+
+    private static GameCreationRequest seeded(Difficulty difficulty, long seed) {
+        GameCreationRequest request = new GameCreationRequest();
+        request.setDifficulty(difficulty);
+        request.setSeed(seed);
+        return request;
+    }
+}
@@ -2,8 +2,10 @@ package org.home.minesweepergame;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MinesweeperGameApplication {
 
     public static void main(String[] args) {
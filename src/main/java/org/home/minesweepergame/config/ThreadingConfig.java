@@ -0,0 +1,94 @@
+package org.home.minesweepergame.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Request thread mode, set with minesweeper.threads.mode:
+ * <ul>
+ *   <li>platform (default): Tomcat's thread pool runs every request, database calls included.</li>
+ *   <li>offload: score submissions and top-score loads run on a pool of their own (see DatabaseCalls), so a slow
+ *       database holds those threads instead of Tomcat's and game clicks keep being served.</li>
+ *   <li>virtual: Tomcat runs each request on its own virtual thread. Needs Java 21+; startup fails on older JVMs.</li>
+ * </ul>
+ * The platform mode keeps Hikari's default pool. In the other two no Tomcat thread limit bounds database
+ * concurrency, so the pool is sized by minesweeper.threads.db-pool-size and callers wait at most
+ * minesweeper.threads.db-connection-timeout for a connection. Explicit spring.datasource.hikari.* settings win.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    public enum Mode { PLATFORM, OFFLOAD, VIRTUAL }
+
+    private final Environment environment;
+    private final Mode mode;
+
+    @Autowired
+    public ThreadingConfig(Environment environment) {
+        this.environment = environment;
+        this.mode = mode(environment);
+        if (mode == Mode.VIRTUAL && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("minesweeper.threads.mode=virtual needs Java 21+, this JVM is Java "
+                    + JavaVersion.getJavaVersion() + ". Use platform or offload.");
+        }
+    }
+
+    public static Mode mode(Environment environment) {
+        return Mode.valueOf(environment.getProperty("minesweeper.threads.mode", "platform").trim().toUpperCase());
+    }
+
+    // What Boot's spring.threads.virtual.enabled does for Tomcat, switched by our own mode
+    @Bean
+    @ConditionalOnProperty(name = "minesweeper.threads.mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualRequestThreads() {
+        return protocolHandler -> protocolHandler.setExecutor(new VirtualThreadTaskExecutor("tomcat-handler-"));
+    }
+
+    // Runs after spring.datasource.hikari.* is bound (a priority-ordered post-processor) and before any wrapping
+    @Bean
+    public static BeanPostProcessor databasePoolPerMode(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && mode(environment) != Mode.PLATFORM) {
+                    if (!environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                        hikari.setMaximumPoolSize(environment.getProperty("minesweeper.threads.db-pool-size", Integer.class, 20));
+                    }
+                    if (!environment.containsProperty("spring.datasource.hikari.connection-timeout")) {
+                        hikari.setConnectionTimeout(environment.getProperty("minesweeper.threads.db-connection-timeout",
+                                Duration.class, Duration.ofSeconds(3)).toMillis());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMode() {
+        switch (mode) {
+            case PLATFORM -> log.info("Request execution: platform threads (max {})",
+                    environment.getProperty("server.tomcat.threads.max", "200"));
+            case OFFLOAD -> log.info("Request execution: platform threads, score database calls offloaded to {} threads",
+                    environment.getProperty("minesweeper.threads.db-pool-size", "20"));
+            case VIRTUAL -> log.info("Request execution: virtual threads");
+        }
+    }
+}
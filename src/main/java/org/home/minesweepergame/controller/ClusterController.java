@@ -0,0 +1,77 @@
+package org.home.minesweepergame.controller;
+
+import org.home.minesweepergame.dtos.ClusterView;
+import org.home.minesweepergame.service.ClusterMembership;
+import org.home.minesweepergame.service.GameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterController.class);
+
+    static final String TOKEN_HEADER = "X-Minesweeper-Cluster-Token";
+
+    private final ClusterMembership cluster;
+    private final GameService gameService;
+    private final byte[] adminToken; // Empty: membership changes are disabled
+
+    @Autowired
+    public ClusterController(ClusterMembership cluster, GameService gameService,
+                             @Value("${minesweeper.cluster.admin-token:}") String adminToken) {
+        this.cluster = cluster;
+        this.gameService = gameService;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Endpoint to see this node's id and the member list it routes with.
+     */
+    @GetMapping
+    public ResponseEntity<ClusterView> getCluster() {
+        return new ResponseEntity<>(new ClusterView(cluster.getSelf(), cluster.getMembers(), 0), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to replace the member list, e.g. {"n1":"http://localhost:8080","n2":"http://localhost:8081"}.
+     * Needs the shared minesweeper.cluster.admin-token in the X-Minesweeper-Cluster-Token header, and a node that
+     * was started with a node id. Send the same list to every node; a node left out of the list is drained,
+     * which it only accepts with ?drain=true. Each node then hands off the games it no longer owns (flushes them
+     * to the database and drops them from memory); their new owner loads them on the next request. Without
+     * database persistence games cannot be handed off, so the list cannot be changed at runtime (409).
+     */
+    @PutMapping("/members")
+    public ResponseEntity<ClusterView> updateMembers(
+            @RequestHeader(name = TOKEN_HEADER, required = false) String token,
+            @RequestParam(defaultValue = "false") boolean drain,
+            @RequestBody Map<String, String> members) {
+        if (adminToken.length == 0 || token == null
+                || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
+        }
+        if (!gameService.canHandOffGames()) {
+            log.warn("Refused a member list change: without database persistence games cannot move to a new owner.");
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+        }
+        try {
+            cluster.updateMembers(members, drain);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT); // 409: not a cluster node, restart it with a node id
+        }
+        int handedOff = gameService.handOffGames();
+        return new ResponseEntity<>(new ClusterView(cluster.getSelf(), cluster.getMembers(), handedOff), HttpStatus.OK);
+    }
+}
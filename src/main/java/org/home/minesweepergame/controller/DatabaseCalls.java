@@ -0,0 +1,65 @@
+package org.home.minesweepergame.controller;
+
+import jakarta.annotation.PreDestroy;
+import org.home.minesweepergame.config.ThreadingConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the controller work that blocks on JDBC. In the offload thread mode (see ThreadingConfig) it runs on a
+ * pool with one thread per database connection and the request is completed asynchronously, so the Tomcat
+ * thread is free for game clicks meanwhile; at most the queue capacity of calls wait for a thread. In the other
+ * modes it runs on the calling thread.
+ */
+@Component
+class DatabaseCalls {
+
+    private final ThreadPoolExecutor offload; // null unless offloading
+
+    @Autowired
+    DatabaseCalls(Environment environment,
+                  @Value("${minesweeper.threads.db-pool-size:20}") int threads,
+                  @Value("${minesweeper.threads.offload-queue:1000}") int queueCapacity) {
+        if (ThreadingConfig.mode(environment) != ThreadingConfig.Mode.OFFLOAD) {
+            this.offload = null;
+            return;
+        }
+        AtomicInteger count = new AtomicInteger();
+        this.offload = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), task -> {
+            Thread thread = new Thread(task, "db-call-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (offload != null) {
+            offload.shutdown();
+        }
+    }
+
+    /**
+     * Runs the call, or returns `whenFull` if the offload queue has no room for it.
+     */
+    <T> CompletableFuture<T> run(Supplier<T> call, Supplier<T> whenFull) {
+        if (offload == null) {
+            return CompletableFuture.completedFuture(call.get());
+        }
+        try {
+            return CompletableFuture.supplyAsync(call, offload);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(whenFull.get());
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package org.home.minesweepergame.controller;
 
+import org.home.minesweepergame.dtos.BoardPoolStats;
 import org.home.minesweepergame.dtos.CellActionRequest;
+import org.home.minesweepergame.dtos.GameActionRequest;
 import org.home.minesweepergame.dtos.GameCreationRequest;
+import org.home.minesweepergame.dtos.GameDelta;
+import org.home.minesweepergame.dtos.GameStoreStats;
+import org.home.minesweepergame.dtos.HintResponse;
 import org.home.minesweepergame.model.GameBoard;
 import org.home.minesweepergame.service.GameService;
 import org.home.minesweepergame.service.ScoreService; // Will be used later for score submission
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/game")
 @CrossOrigin(origins = {"http://localhost:4200", "https://minesweeper-frontend-9th2.onrender.com"}) // <-- MODIFY THIS LINE
 public class GameController {
 
+    private static final Logger log = LoggerFactory.getLogger(GameController.class);
+
     private final GameService gameService;
     private final ScoreService scoreService; // Inject ScoreService for future score handling
 
@@ -48,22 +59,27 @@ public class GameController {
      * @param gameId The ID of the game.
      * @param row The row index of the cell.
      * @param col The column index of the cell.
-     * @return ResponseEntity with the updated GameBoard or a NOT_FOUND/BAD_REQUEST status.
+     * @param delta If true, respond with a GameDelta of the changed cells instead of the full board.
+     * @return ResponseEntity with the updated GameBoard (or GameDelta) or a NOT_FOUND/BAD_REQUEST status.
      */
     @PostMapping("/{gameId}/reveal/{row}/{col}")
-    public ResponseEntity<GameBoard> revealCell(
+    public ResponseEntity<?> revealCell(
             @PathVariable String gameId,
             @PathVariable int row,
-            @PathVariable int col) {
+            @PathVariable int col,
+            @RequestParam(defaultValue = "false") boolean delta) {
         try {
             // GameService will handle the reveal logic, including starting the timer and placing mines on first click
-            GameBoard updatedGame = gameService.revealCell(gameId, row, col);
+            GameDelta changes = delta ? new GameDelta() : null;
+            GameBoard updatedGame = gameService.revealCell(gameId, row, col, changes);
             if (updatedGame == null) {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND); // Game not found or already ended
             }
-            return new ResponseEntity<>(updatedGame, HttpStatus.OK);
+            return new ResponseEntity<>(delta ? changes : updatedGame, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Cell outside the board
         } catch (Exception e) { // Catching generic exception for unexpected errors during reveal
-            System.err.println("Error revealing cell: " + e.getMessage());
+            log.error("Error revealing cell", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -74,21 +90,26 @@ public class GameController {
      * @param gameId The ID of the game.
      * @param row The row index of the cell.
      * @param col The column index of the cell.
-     * @return ResponseEntity with the updated GameBoard or a NOT_FOUND/BAD_REQUEST status.
+     * @param delta If true, respond with a GameDelta of the changed cells instead of the full board.
+     * @return ResponseEntity with the updated GameBoard (or GameDelta) or a NOT_FOUND/BAD_REQUEST status.
      */
     @PostMapping("/{gameId}/flag/{row}/{col}")
-    public ResponseEntity<GameBoard> flagCell(
+    public ResponseEntity<?> flagCell(
             @PathVariable String gameId,
             @PathVariable int row,
-            @PathVariable int col) {
+            @PathVariable int col,
+            @RequestParam(defaultValue = "false") boolean delta) {
         try {
-            GameBoard updatedGame = gameService.flagCell(gameId, row, col);
+            GameDelta changes = delta ? new GameDelta() : null;
+            GameBoard updatedGame = gameService.flagCell(gameId, row, col, changes);
             if (updatedGame == null) {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
-            return new ResponseEntity<>(updatedGame, HttpStatus.OK);
+            return new ResponseEntity<>(delta ? changes : updatedGame, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Cell outside the board
         } catch (Exception e) {
-            System.err.println("Error flagging cell: " + e.getMessage());
+            log.error("Error flagging cell", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -100,21 +121,110 @@ public class GameController {
      * @param gameId The ID of the game.
      * @param row The row index of the cell.
      * @param col The column index of the cell.
-     * @return ResponseEntity with the updated GameBoard or a NOT_FOUND/BAD_REQUEST status.
+     * @param delta If true, respond with a GameDelta of the changed cells instead of the full board.
+     * @return ResponseEntity with the updated GameBoard (or GameDelta) or a NOT_FOUND/BAD_REQUEST status.
      */
     @PostMapping("/{gameId}/chord/{row}/{col}")
-    public ResponseEntity<GameBoard> chordClick(
+    public ResponseEntity<?> chordClick(
             @PathVariable String gameId,
             @PathVariable int row,
-            @PathVariable int col) {
+            @PathVariable int col,
+            @RequestParam(defaultValue = "false") boolean delta) {
+        try {
+            GameDelta changes = delta ? new GameDelta() : null;
+            GameBoard updatedGame = gameService.chordClick(gameId, row, col, changes);
+            if (updatedGame == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            return new ResponseEntity<>(delta ? changes : updatedGame, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Cell outside the board
+        } catch (Exception e) {
+            log.error("Error during chord click", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Endpoint to apply an ordered list of reveal/flag/chord actions in one request.
+     * The actions are applied atomically and processing stops at the first game-ending move.
+     *
+     * @param gameId The ID of the game.
+     * @param actions The actions to apply, in order.
+     * @param delta If true, respond with one GameDelta covering all actions instead of the full board.
+     * @return ResponseEntity with the updated GameBoard (or GameDelta) or a NOT_FOUND/BAD_REQUEST status.
+     */
+    @PostMapping("/{gameId}/actions")
+    public ResponseEntity<?> applyActions(
+            @PathVariable String gameId,
+            @RequestBody List<GameActionRequest> actions,
+            @RequestParam(defaultValue = "false") boolean delta) {
+        try {
+            GameDelta changes = delta ? new GameDelta() : null;
+            GameBoard updatedGame = gameService.applyActions(gameId, actions, changes);
+            if (updatedGame == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            return new ResponseEntity<>(delta ? changes : updatedGame, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("Error applying actions", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Endpoint to retrieve live-game counts and eviction counters of the active-game store.
+     *
+     * @return ResponseEntity with the current GameStoreStats.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<GameStoreStats> getStoreStats() {
+        return new ResponseEntity<>(gameService.getStoreStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint exposing the pre-generated board pool: layouts in stock per difficulty and first-click hit/miss counts.
+     *
+     * @return ResponseEntity with the current BoardPoolStats.
+     */
+    @GetMapping("/stats/pool")
+    public ResponseEntity<BoardPoolStats> getBoardPoolStats() {
+        return new ResponseEntity<>(gameService.getBoardPoolStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to list the hidden cells that are provably safe or provably mines, deduced only from revealed numbers.
+     *
+     * @param gameId The ID of the game.
+     * @return ResponseEntity with the HintResponse or a NOT_FOUND status.
+     */
+    @GetMapping("/{gameId}/hint")
+    public ResponseEntity<HintResponse> getHint(@PathVariable String gameId) {
+        HintResponse hint = gameService.getHint(gameId);
+        if (hint == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(hint, HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint for auto mode: plays every certain move the hints allow, repeatedly, until none is left.
+     *
+     * @param gameId The ID of the game.
+     * @return ResponseEntity with the updated GameBoard or a NOT_FOUND status if the game is missing or not in progress.
+     */
+    @PostMapping("/{gameId}/hint/auto")
+    public ResponseEntity<GameBoard> autoSolve(@PathVariable String gameId) {
         try {
-            GameBoard updatedGame = gameService.chordClick(gameId, row, col);
+            GameBoard updatedGame = gameService.autoSolve(gameId);
             if (updatedGame == null) {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
             return new ResponseEntity<>(updatedGame, HttpStatus.OK);
         } catch (Exception e) {
-            System.err.println("Error during chord click: " + e.getMessage());
+            log.error("Error applying hints", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
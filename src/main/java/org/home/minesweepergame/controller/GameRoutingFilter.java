@@ -0,0 +1,242 @@
+package org.home.minesweepergame.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.home.minesweepergame.service.ClusterMembership;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sends each game request to the instance that holds the game (see ClusterMembership), so several instances can
+ * run behind a plain round-robin load balancer. The game id comes from the path (/api/game/{gameId}/...,
+ * /api/large-game/{gameId}/..., /ws/game/{gameId}) or, for score submission, from the JSON body. Requests for
+ * games owned elsewhere are proxied to the owner (minesweeper.cluster.routing=forward) or answered with a 307 to
+ * it (redirect); WebSocket handshakes are always redirected, since an upgrade cannot be proxied. Everything else,
+ * and every request when clustering is disabled, is served locally.
+ */
+@Component
+public class GameRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRoutingFilter.class);
+
+    // Set on proxied requests; the owner serves them locally even if its member list disagrees, so nothing loops
+    static final String FORWARDED_BY = "X-Minesweeper-Forwarded-By";
+    private static final List<String> GAME_PATHS = List.of("/api/game/", "/api/large-game/", "/ws/game/");
+    private static final String WEBSOCKET_PATH = "/ws/game/";
+    private static final Set<String> CREATE_PATHS = Set.of("/api/game/create", "/api/large-game/create");
+    private static final String SCORE_PATH = "/api/game/scores/add";
+    // Routes under the game paths that are not a game id
+    private static final Set<String> NOT_GAME_IDS = Set.of("create", "stats", "scores");
+    // Managed by the HTTP client itself, or hop-by-hop
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of("host", "content-length", "connection", "expect", "upgrade", "transfer-encoding");
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of("content-length", "connection", "transfer-encoding");
+
+    private final ClusterMembership cluster;
+    private final ObjectMapper objectMapper;
+    private final boolean redirect;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    @Autowired
+    public GameRoutingFilter(ClusterMembership cluster, ObjectMapper objectMapper,
+                             @Value("${minesweeper.cluster.routing:forward}") String routing) {
+        if (!routing.equals("forward") && !routing.equals("redirect")) {
+            throw new IllegalArgumentException("minesweeper.cluster.routing must be 'forward' or 'redirect', not '" + routing + "'.");
+        }
+        this.cluster = cluster;
+        this.objectMapper = objectMapper;
+        this.redirect = routing.equals("redirect");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cluster.isEnabled() || request.getHeader(FORWARDED_BY) != null || gamePath(path(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = path(request);
+        byte[] body = null;
+        String gameId;
+        if (path.equals(SCORE_PATH) && request.getMethod().equals("POST")) {
+            // The body can only be read once: keep it for the local controller or the forwarded request
+            body = request.getInputStream().readAllBytes();
+            request = new CachedBodyRequest(request, body);
+            gameId = gameIdFromBody(body);
+        } else {
+            gameId = gameIdFromPath(path, gamePath(path));
+        }
+        String owner = gameId == null ? null : cluster.ownerOf(gameId);
+        if (CREATE_PATHS.contains(path) && cluster.urlOf(cluster.getSelf()) == null) {
+            owner = cluster.ownerOf(UUID.randomUUID().toString()); // Drained: new games are created on a member
+        }
+        if (owner == null || owner.equals(cluster.getSelf())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String url = cluster.urlOf(owner);
+        String target = url + request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        if (redirect || path.startsWith(WEBSOCKET_PATH)) {
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT); // 307 keeps the method and body
+            response.setHeader("Location", target);
+            return;
+        }
+        if (body == null) {
+            body = request.getInputStream().readAllBytes();
+        }
+        forward(request, body, target, owner, response);
+    }
+
+    private void forward(HttpServletRequest request, byte[] body, String target, String owner, HttpServletResponse response)
+            throws IOException {
+        HttpRequest.Builder proxied = HttpRequest.newBuilder(URI.create(target))
+                .timeout(Duration.ofSeconds(10))
+                .method(request.getMethod(), body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_BY, cluster.getSelf());
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_REQUEST_HEADERS.contains(name.toLowerCase())) continue;
+            for (String value : Collections.list(request.getHeaders(name))) {
+                proxied.header(name, value);
+            }
+        }
+        HttpResponse<byte[]> answer;
+        try {
+            answer = http.send(proxied.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            log.warn("Owner {} of {} {} is unreachable: {}", owner, request.getMethod(), request.getRequestURI(), e.toString());
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE); // 503: the client may retry once the owner is back or drained
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        response.setStatus(answer.statusCode());
+        answer.headers().map().forEach((name, values) -> {
+            if (SKIPPED_RESPONSE_HEADERS.contains(name.toLowerCase()) || name.startsWith(":")) return;
+            for (String value : values) {
+                response.addHeader(name, value);
+            }
+        });
+        response.getOutputStream().write(answer.body());
+    }
+
+    // The routed prefix the path starts with, or null
+    private static String gamePath(String path) {
+        for (String prefix : GAME_PATHS) {
+            if (path.startsWith(prefix)) return prefix;
+        }
+        return null;
+    }
+
+    // /api/game/{gameId}/... -> gameId, or null for the routes that are not about one game
+    private static String gameIdFromPath(String path, String prefix) {
+        int start = prefix.length();
+        int end = path.indexOf('/', start);
+        String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+        return segment.isEmpty() || NOT_GAME_IDS.contains(segment) ? null : segment;
+    }
+
+    // A malformed body is left to the controller to reject
+    private String gameIdFromBody(byte[] body) {
+        try {
+            JsonNode gameId = objectMapper.readTree(body).get("gameId");
+            return gameId != null && gameId.isTextual() ? gameId.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // Replays a body that was already read from the original request.
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
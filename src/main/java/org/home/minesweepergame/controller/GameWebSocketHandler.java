@@ -0,0 +1,187 @@
+package org.home.minesweepergame.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.Session;
+import org.home.minesweepergame.config.ThreadingConfig;
+import org.home.minesweepergame.dtos.GameActionRequest;
+import org.home.minesweepergame.dtos.GameEventMessage;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.service.GameEventPublisher;
+import org.home.minesweepergame.service.GameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent per-game channel at /ws/game/{gameId}.
+ * On connect the client receives a SNAPSHOT of the board, then a DELTA for every action applied to the game,
+ * whether it came from this socket, another socket or the REST endpoints.
+ * Clients send moves as {"type":"REVEAL|FLAG|CHORD","row":r,"col":c} or as a JSON array of such moves.
+ * <p>
+ * The session subscribes before the snapshot is taken, and the snapshot is taken under the game lock that
+ * deltas are published under: deltas from before the snapshot are already in it and are dropped, every later
+ * one follows it. Messages go out through a SessionOutbox, so a slow client never holds up a game's lock.
+ */
+@Component
+public class GameWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GameWebSocketHandler.class);
+
+    private static final String GAME_ID = "gameId";
+    private static final String LISTENER = "listener";
+    private static final String OUTBOX = "outbox";
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    // Tomcat's limit for one blocking write; its default is 20 seconds
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final GameService gameService;
+    private final GameEventPublisher events;
+    private final ObjectMapper objectMapper;
+    // Writes queued messages to the sessions: a virtual thread per write in the virtual thread mode, otherwise a
+    // fixed pool. At most one drain per session waits in its queue, and a write holds a thread for at most
+    // SEND_TIME_LIMIT_MS before its session is closed.
+    private final Executor sender;
+
+    @Autowired
+    public GameWebSocketHandler(GameService gameService, GameEventPublisher events, ObjectMapper objectMapper,
+                                Environment environment,
+                                @Value("${minesweeper.websocket.sender-threads:16}") int senderThreads) {
+        this.gameService = gameService;
+        this.events = events;
+        this.objectMapper = objectMapper;
+        if (ThreadingConfig.mode(environment) == ThreadingConfig.Mode.VIRTUAL) {
+            this.sender = new VirtualThreadTaskExecutor("websocket-sender-");
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), task -> {
+                Thread thread = new Thread(task, "websocket-sender-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String path = session.getUri() == null ? "" : session.getUri().getPath();
+        String gameId = path.substring(path.lastIndexOf('/') + 1);
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            Session tomcatSession = nativeSession.getNativeSession(Session.class);
+            if (tomcatSession != null) {
+                tomcatSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT, (long) SEND_TIME_LIMIT_MS);
+            }
+        }
+        SessionOutbox outbox = new SessionOutbox(session, sender, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES);
+        AtomicBoolean snapshotSent = new AtomicBoolean(); // Only changed and read under the game lock
+        GameEventPublisher.Listener listener = delta -> {
+            if (snapshotSent.get()) {
+                send(outbox, GameEventMessage.delta(delta));
+            }
+        };
+        session.getAttributes().put(GAME_ID, gameId);
+        session.getAttributes().put(LISTENER, listener);
+        session.getAttributes().put(OUTBOX, outbox);
+        events.subscribe(gameId, listener);
+        Boolean found = gameService.readGame(gameId, game -> {
+            send(outbox, GameEventMessage.snapshot(game));
+            snapshotSent.set(true);
+            return true;
+        });
+        if (found == null) {
+            events.unsubscribe(gameId, listener);
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Game not found"));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        String gameId = (String) session.getAttributes().get(GAME_ID);
+        String payload = message.getPayload().trim();
+        GameBoard updatedGame;
+        try {
+            if (payload.startsWith("[")) {
+                List<GameActionRequest> actions = objectMapper.readValue(payload, new TypeReference<>() {});
+                updatedGame = gameService.applyActions(gameId, actions, null);
+            } else {
+                GameActionRequest action = objectMapper.readValue(payload, GameActionRequest.class);
+                updatedGame = apply(gameId, action);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            sendDirect(session, GameEventMessage.error("Invalid action: " + e.getMessage()));
+            return;
+        }
+        // Successful moves are answered by the DELTA pushed to every subscriber, including this session
+        if (updatedGame == null) {
+            sendDirect(session, GameEventMessage.error("Game not found or already ended"));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        String gameId = (String) session.getAttributes().get(GAME_ID);
+        GameEventPublisher.Listener listener = (GameEventPublisher.Listener) session.getAttributes().get(LISTENER);
+        if (gameId != null && listener != null) {
+            events.unsubscribe(gameId, listener);
+        }
+        SessionOutbox outbox = (SessionOutbox) session.getAttributes().get(OUTBOX);
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sender instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private GameBoard apply(String gameId, GameActionRequest action) {
+        if (action.getType() == null) {
+            throw new IllegalArgumentException("missing type");
+        }
+        return switch (action.getType()) {
+            case REVEAL -> gameService.revealCell(gameId, action.getRow(), action.getCol());
+            case FLAG -> gameService.flagCell(gameId, action.getRow(), action.getCol());
+            case CHORD -> gameService.chordClick(gameId, action.getRow(), action.getCol());
+        };
+    }
+
+    // Replies to the sender only, through the same outbox the pushed deltas use
+    private void sendDirect(WebSocketSession session, GameEventMessage message) {
+        send((SessionOutbox) session.getAttributes().get(OUTBOX), message);
+    }
+
+    // Serializes on the calling thread (under the game lock for snapshots and deltas, so the board cannot change
+    // halfway) and leaves the write to the outbox.
+    private void send(SessionOutbox outbox, GameEventMessage message) {
+        try {
+            outbox.send(objectMapper.writeValueAsString(message));
+        } catch (IOException e) {
+            log.warn("Could not serialize a game update: {}", e.toString());
+        }
+    }
+}
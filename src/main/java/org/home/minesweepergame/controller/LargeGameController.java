@@ -0,0 +1,100 @@
+package org.home.minesweepergame.controller;
+
+import org.home.minesweepergame.dtos.LargeGameCreationRequest;
+import org.home.minesweepergame.dtos.LargeGameState;
+import org.home.minesweepergame.dtos.ViewportResponse;
+import org.home.minesweepergame.service.LargeGameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoints for huge boards. Moves answer with a small game summary; the client reads cells
+ * through /viewport instead of receiving the whole grid.
+ */
+@RestController
+@RequestMapping("/api/large-game")
+@CrossOrigin(origins = {"http://localhost:4200", "https://minesweeper-frontend-9th2.onrender.com"})
+public class LargeGameController {
+
+    private static final Logger log = LoggerFactory.getLogger(LargeGameController.class);
+
+    private final LargeGameService largeGameService;
+
+    @Autowired
+    public LargeGameController(LargeGameService largeGameService) {
+        this.largeGameService = largeGameService;
+    }
+
+    @PostMapping("/create")
+    public ResponseEntity<LargeGameState> createGame(@RequestBody LargeGameCreationRequest request) {
+        try {
+            return new ResponseEntity<>(largeGameService.createGame(request), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE); // Large game limit reached
+        }
+    }
+
+    @GetMapping("/{gameId}")
+    public ResponseEntity<LargeGameState> getGame(@PathVariable String gameId) {
+        LargeGameState game = largeGameService.getGame(gameId);
+        return game == null ? new ResponseEntity<>(HttpStatus.NOT_FOUND) : new ResponseEntity<>(game, HttpStatus.OK);
+    }
+
+    @PostMapping("/{gameId}/reveal/{row}/{col}")
+    public ResponseEntity<LargeGameState> revealCell(@PathVariable String gameId, @PathVariable int row, @PathVariable int col) {
+        try {
+            return respond(largeGameService.revealCell(gameId, row, col));
+        } catch (Exception e) {
+            log.error("Error revealing large game cell", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/{gameId}/flag/{row}/{col}")
+    public ResponseEntity<LargeGameState> flagCell(@PathVariable String gameId, @PathVariable int row, @PathVariable int col) {
+        try {
+            return respond(largeGameService.flagCell(gameId, row, col));
+        } catch (Exception e) {
+            log.error("Error flagging large game cell", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/{gameId}/chord/{row}/{col}")
+    public ResponseEntity<LargeGameState> chordClick(@PathVariable String gameId, @PathVariable int row, @PathVariable int col) {
+        try {
+            return respond(largeGameService.chordClick(gameId, row, col));
+        } catch (Exception e) {
+            log.error("Error performing chord click on large game", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Returns the cells of a window of the board, one string per row ('#' hidden, 'F' flagged, '*' mine, '0'-'8' revealed).
+     * The window is clipped to the board and to 256x256 cells.
+     */
+    @GetMapping("/{gameId}/viewport")
+    public ResponseEntity<ViewportResponse> getViewport(
+            @PathVariable String gameId,
+            @RequestParam(defaultValue = "0") int row,
+            @RequestParam(defaultValue = "0") int col,
+            @RequestParam(defaultValue = "64") int height,
+            @RequestParam(defaultValue = "64") int width) {
+        ViewportResponse viewport = largeGameService.getViewport(gameId, row, col, height, width);
+        return viewport == null ? new ResponseEntity<>(HttpStatus.NOT_FOUND) : new ResponseEntity<>(viewport, HttpStatus.OK);
+    }
+
+    private static ResponseEntity<LargeGameState> respond(LargeGameState state) {
+        if (state == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND); // Game not found, move out of bounds or game already ended
+        }
+        return new ResponseEntity<>(state, HttpStatus.OK);
+    }
+}
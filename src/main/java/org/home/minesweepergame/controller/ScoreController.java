@@ -1,6 +1,7 @@
 package org.home.minesweepergame.controller;
 
 import org.home.minesweepergame.dtos.AddScoreRequest;
+import org.home.minesweepergame.dtos.LeaderboardPage;
 import org.home.minesweepergame.model.Difficulty;
 import org.home.minesweepergame.model.Score;
 import org.home.minesweepergame.service.ScoreService;
@@ -10,6 +11,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController // Marks this class as a REST controller
 @RequestMapping("/api/game/scores") // Base path for score-related endpoints
@@ -17,10 +20,12 @@ import java.util.List;
 public class ScoreController {
 
     private final ScoreService scoreService;
+    private final DatabaseCalls databaseCalls; // Submitting and loading top scores can block on JDBC
 
     @Autowired
-    public ScoreController(ScoreService scoreService) {
+    public ScoreController(ScoreService scoreService, DatabaseCalls databaseCalls) {
         this.scoreService = scoreService;
+        this.databaseCalls = databaseCalls;
     }
 
     /**
@@ -28,28 +33,69 @@ public class ScoreController {
      * Expects gameId and playerName in the request body.
      */
     @PostMapping("/add")
-    public ResponseEntity<Score> addScore(@RequestBody AddScoreRequest scoreRequest) {
+    public CompletableFuture<ResponseEntity<Score>> addScore(@RequestBody AddScoreRequest scoreRequest) {
+        return databaseCalls.run(() -> addScoreNow(scoreRequest), ScoreController::busy);
+    }
+
+    /**
+     * Endpoint to get top scores for a specific difficulty.
+     */
+    @GetMapping("/{difficulty}")
+    public CompletableFuture<ResponseEntity<List<Score>>> getTopScores(@PathVariable Difficulty difficulty) {
+        return databaseCalls.run(() -> {
+            try {
+                List<Score> topScores = scoreService.getTopScores(difficulty);
+                return new ResponseEntity<>(topScores, HttpStatus.OK); // 200 OK
+            } catch (Exception e) {
+                return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR); // 500 Internal Server Error
+            }
+        }, ScoreController::busy);
+    }
+
+    /**
+     * Endpoint to page through the full ranking of a difficulty.
+     */
+    @GetMapping("/{difficulty}/ranking")
+    public ResponseEntity<LeaderboardPage> getRankingPage(
+            @PathVariable Difficulty difficulty,
+            @RequestParam(defaultValue = "1") int fromRank,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(scoreService.getRankingPage(difficulty, fromRank, size), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to get the scores ranked around a given score (e.g. the one just submitted).
+     */
+    @GetMapping("/{difficulty}/ranking/around/{scoreId}")
+    public ResponseEntity<LeaderboardPage> getRankingAround(
+            @PathVariable Difficulty difficulty,
+            @PathVariable String scoreId,
+            @RequestParam(defaultValue = "5") int window) {
+        try {
+            return new ResponseEntity<>(scoreService.getRankingAround(difficulty, scoreId, window), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND); // Score not ranked for this difficulty
+        }
+    }
+
+    private ResponseEntity<Score> addScoreNow(AddScoreRequest scoreRequest) {
         try {
             Score savedScore = scoreService.addScore(scoreRequest.getGameId(), scoreRequest.getPlayerName());
             return new ResponseEntity<>(savedScore, HttpStatus.CREATED); // 201 Created
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // 400 Bad Request
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.GONE); // 410 Gone: the game expired before the score was submitted
+        } catch (RejectedExecutionException e) {
+            return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE); // 503: score queue full, the client may retry
         } catch (Exception e) {
             // Catch any other unexpected exceptions
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR); // 500 Internal Server Error
         }
     }
 
-    /**
-     * Endpoint to get top scores for a specific difficulty.
-     */
-    @GetMapping("/{difficulty}")
-    public ResponseEntity<List<Score>> getTopScores(@PathVariable Difficulty difficulty) {
-        try {
-            List<Score> topScores = scoreService.getTopScores(difficulty);
-            return new ResponseEntity<>(topScores, HttpStatus.OK); // 200 OK
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR); // 500 Internal Server Error
-        }
+    // 503: no room to queue the database call, the client may retry
+    private static <T> ResponseEntity<T> busy() {
+        return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package org.home.minesweepergame.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbound queue of one WebSocket session. Any thread may queue a message without blocking (deltas are queued
+ * while their game's lock is held); a shared sender pool writes them in order, one at a time per session, so a
+ * slow client only ever holds up its own writes. A client more than the buffer limit behind, or whose current
+ * write has been stuck longer than the time limit, is disconnected, as is one whose write fails (the handler
+ * bounds each blocking write by the same time limit), so a sender thread is never held for long.
+ */
+final class SessionOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionOutbox.class);
+
+    private final WebSocketSession session;
+    private final Executor sender;
+    private final long sendTimeLimitMillis;
+    private final long bufferLimitChars;
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queuedChars = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long writeStartedAt; // 0 while no write is running
+    private volatile boolean closed;
+
+    SessionOutbox(WebSocketSession session, Executor sender, long sendTimeLimitMillis, long bufferLimitChars) {
+        this.session = session;
+        this.sender = sender;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferLimitChars = bufferLimitChars;
+    }
+
+    void send(String payload) {
+        if (closed) {
+            return;
+        }
+        long started = writeStartedAt;
+        if (queuedChars.addAndGet(payload.length()) > bufferLimitChars
+                || (started != 0 && System.currentTimeMillis() - started > sendTimeLimitMillis)) {
+            disconnect();
+            return;
+        }
+        queue.add(payload);
+        scheduleDrain();
+    }
+
+    // Drops whatever is still queued; the session is already closed.
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            String payload;
+            while (!closed && (payload = queue.poll()) != null) {
+                queuedChars.addAndGet(-payload.length());
+                writeStartedAt = System.currentTimeMillis();
+                try {
+                    session.sendMessage(new TextMessage(payload));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Error sending game update to session {}: {}", session.getId(), e.getMessage());
+                    close(); // Timed out or broken: later writes would only wait as long again
+                    closeSession("Send failed");
+                } finally {
+                    writeStartedAt = 0;
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        if (!closed && !queue.isEmpty()) {
+            scheduleDrain(); // A message queued after the last poll but before draining was cleared
+        }
+    }
+
+    // Closes on the sender pool: closing a session whose write is stuck can block as well.
+    private void disconnect() {
+        close();
+        sender.execute(() -> closeSession("Client too slow"));
+    }
+
+    private void closeSession(String reason) {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Error closing slow session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
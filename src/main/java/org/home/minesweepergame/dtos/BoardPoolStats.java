@@ -0,0 +1,43 @@
+package org.home.minesweepergame.dtos;
+
+import org.home.minesweepergame.model.Difficulty;
+
+import java.util.Map;
+
+// Snapshot of the pre-generated layout pool: stock per difficulty and hit/miss counters.
+public class BoardPoolStats {
+    private final Map<Difficulty, Integer> available;
+    private final long hits;
+    private final long misses;
+    private final long generated;
+
+    public BoardPoolStats(Map<Difficulty, Integer> available, long hits, long misses, long generated) {
+        this.available = available;
+        this.hits = hits;
+        this.misses = misses;
+        this.generated = generated;
+    }
+
+    // Getters
+    public Map<Difficulty, Integer> getAvailable() {
+        return available;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    // Share of first clicks served from the pool
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
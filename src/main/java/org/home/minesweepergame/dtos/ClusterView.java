@@ -0,0 +1,29 @@
+package org.home.minesweepergame.dtos;
+
+import java.util.Map;
+
+// This node's view of the cluster, and how many games it handed off after the last membership change.
+public class ClusterView {
+    private final String self;
+    private final Map<String, String> members;
+    private final int handedOff;
+
+    public ClusterView(String self, Map<String, String> members, int handedOff) {
+        this.self = self;
+        this.members = members;
+        this.handedOff = handedOff;
+    }
+
+    // Getters
+    public String getSelf() {
+        return self;
+    }
+
+    public Map<String, String> getMembers() {
+        return members;
+    }
+
+    public int getHandedOff() {
+        return handedOff;
+    }
+}
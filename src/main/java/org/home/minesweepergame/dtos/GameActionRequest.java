@@ -0,0 +1,31 @@
+package org.home.minesweepergame.dtos;
+
+// One move in a batch sent to POST /api/game/{gameId}/actions.
+public class GameActionRequest {
+    public enum Type {
+        REVEAL,
+        FLAG,
+        CHORD
+    }
+
+    private Type type;
+    private int row;
+    private int col;
+
+    public GameActionRequest() {
+    }
+
+    public GameActionRequest(Type type, int row, int col) {
+        this.type = type;
+        this.row = row;
+        this.col = col;
+    }
+
+    // Getters and Setters
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+    public int getCol() { return col; }
+    public void setCol(int col) { this.col = col; }
+}
@@ -9,6 +9,8 @@ public class GameCreationRequest {
     private Integer rows;        // Optional: for custom games (number of rows)
     private Integer cols;        // Optional: for custom games (number of columns)
     private Integer mines;       // Optional: for custom games (number of mines)
+    private Long seed;           // Optional: fixed mine layout seed (replays, daily boards); random if absent
+    private Boolean noGuess;     // Optional: only deal boards that can be solved from the first click without guessing
 
     // Getters
     public Difficulty getDifficulty() {
@@ -27,6 +29,14 @@ public class GameCreationRequest {
         return mines;
     }
 
+    public Long getSeed() {
+        return seed;
+    }
+
+    public Boolean getNoGuess() {
+        return noGuess;
+    }
+
     // Setters
     public void setDifficulty(Difficulty difficulty) {
         this.difficulty = difficulty;
@@ -44,6 +54,14 @@ public class GameCreationRequest {
         this.mines = mines;
     }
 
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public void setNoGuess(Boolean noGuess) {
+        this.noGuess = noGuess;
+    }
+
     @Override
     public String toString() {
         return "GameCreationRequest{" +
@@ -51,6 +69,8 @@ public class GameCreationRequest {
                 ", rows=" + rows +
                 ", cols=" + cols +
                 ", mines=" + mines +
+                ", seed=" + seed +
+                ", noGuess=" + noGuess +
                 '}';
     }
 }
\ No newline at end of file
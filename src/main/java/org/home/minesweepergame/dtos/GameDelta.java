@@ -0,0 +1,85 @@
+package org.home.minesweepergame.dtos;
+
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+
+import java.util.Arrays;
+
+// Compact response for a single game action: only the cells that changed, plus the new game status.
+// Clients compare baseVersion with the version they hold; on a mismatch they re-fetch the full board.
+public class GameDelta {
+    // Cell state codes used in 'changes'; values 0..8 mean revealed with that many adjacent mines.
+    public static final int HIDDEN = -1;
+    public static final int FLAGGED = -2;
+    public static final int MINE = -3;
+
+    private String gameId;
+    private long baseVersion;  // Board version before the action was applied
+    private long version;      // Board version after the action was applied
+    private GameStatus status;
+    private long timeTaken;
+
+    // Changed cells as flat (row, col, state) triples, grown as the action records changes
+    private int[] buffer = new int[3 * 8];
+    private int size;
+
+    // Called by GameService before applying an action.
+    public void begin(GameBoard game) {
+        this.gameId = game.getGameId();
+        this.baseVersion = game.getVersion();
+    }
+
+    // Records the current state of a cell that the action has just changed.
+    public void record(GameBoard game, int row, int col) {
+        if (size + 3 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[size++] = row;
+        buffer[size++] = col;
+        buffer[size++] = stateOf(game, row, col);
+    }
+
+    // Called by GameService after the action, while the board is still in the state it produced.
+    public void complete(GameBoard game) {
+        this.version = game.getVersion();
+        this.status = game.getStatus();
+        this.timeTaken = game.getTimeTaken();
+    }
+
+    public static int stateOf(GameBoard game, int row, int col) {
+        if (game.isRevealed(row, col)) {
+            return game.isMine(row, col) ? MINE : game.getAdjacentMines(row, col);
+        }
+        return game.isFlagged(row, col) ? FLAGGED : HIDDEN;
+    }
+
+    // --- Getters ---
+    public String getGameId() {
+        return gameId;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public long getTimeTaken() {
+        return timeTaken;
+    }
+
+    // Serialized as [[row, col, state], ...]
+    public int[][] getChanges() {
+        int[][] changes = new int[size / 3][];
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = Arrays.copyOfRange(buffer, i * 3, i * 3 + 3);
+        }
+        return changes;
+    }
+}
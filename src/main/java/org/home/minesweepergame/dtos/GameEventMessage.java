@@ -0,0 +1,56 @@
+package org.home.minesweepergame.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.home.minesweepergame.model.GameBoard;
+
+// Envelope for messages pushed over the game WebSocket channel.
+// SNAPSHOT carries the full board (sent once on connect), DELTA the cells changed by an action, ERROR a message.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameEventMessage {
+    public enum Type {
+        SNAPSHOT,
+        DELTA,
+        ERROR
+    }
+
+    private final Type type;
+    private final GameBoard board;
+    private final GameDelta delta;
+    private final String message;
+
+    private GameEventMessage(Type type, GameBoard board, GameDelta delta, String message) {
+        this.type = type;
+        this.board = board;
+        this.delta = delta;
+        this.message = message;
+    }
+
+    public static GameEventMessage snapshot(GameBoard board) {
+        return new GameEventMessage(Type.SNAPSHOT, board, null, null);
+    }
+
+    public static GameEventMessage delta(GameDelta delta) {
+        return new GameEventMessage(Type.DELTA, null, delta, null);
+    }
+
+    public static GameEventMessage error(String message) {
+        return new GameEventMessage(Type.ERROR, null, null, message);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public GameBoard getBoard() {
+        return board;
+    }
+
+    public GameDelta getDelta() {
+        return delta;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
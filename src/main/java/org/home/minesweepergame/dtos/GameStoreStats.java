@@ -0,0 +1,54 @@
+package org.home.minesweepergame.dtos;
+
+import org.home.minesweepergame.model.GameStatus;
+
+import java.util.Map;
+
+// Snapshot of the active-game store: live games and eviction counters.
+public class GameStoreStats {
+    private final int liveGames;
+    private final Map<GameStatus, Integer> liveGamesByStatus;
+    private final long estimatedBytes;
+    private final long idleEvictions;
+    private final long finishedEvictions;
+    private final long capacityEvictions;
+
+    public GameStoreStats(int liveGames, Map<GameStatus, Integer> liveGamesByStatus, long estimatedBytes,
+                          long idleEvictions, long finishedEvictions, long capacityEvictions) {
+        this.liveGames = liveGames;
+        this.liveGamesByStatus = liveGamesByStatus;
+        this.estimatedBytes = estimatedBytes;
+        this.idleEvictions = idleEvictions;
+        this.finishedEvictions = finishedEvictions;
+        this.capacityEvictions = capacityEvictions;
+    }
+
+    // Getters
+    public int getLiveGames() {
+        return liveGames;
+    }
+
+    public Map<GameStatus, Integer> getLiveGamesByStatus() {
+        return liveGamesByStatus;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getIdleEvictions() {
+        return idleEvictions;
+    }
+
+    public long getFinishedEvictions() {
+        return finishedEvictions;
+    }
+
+    public long getCapacityEvictions() {
+        return capacityEvictions;
+    }
+
+    public long getTotalEvictions() {
+        return idleEvictions + finishedEvictions + capacityEvictions;
+    }
+}
@@ -0,0 +1,56 @@
+package org.home.minesweepergame.dtos;
+
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.home.minesweepergame.model.HintEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hidden cells that can be proven safe or mined from the revealed numbers, as [row, col] pairs.
+public class HintResponse {
+    private final String gameId;
+    private final GameStatus status;
+    private final long version;
+    private final List<int[]> safeCells = new ArrayList<>();
+    private final List<int[]> mineCells = new ArrayList<>();
+
+    public HintResponse(GameBoard game, HintEngine hints) {
+        this.gameId = game.getGameId();
+        this.status = game.getStatus();
+        this.version = game.getVersion();
+        if (hints == null) {
+            return;
+        }
+        for (int r = 0; r < game.getRows(); r++) {
+            for (int c = 0; c < game.getCols(); c++) {
+                if (hints.isProvenSafe(r, c)) {
+                    safeCells.add(new int[]{r, c});
+                } else if (hints.isProvenMine(r, c)) {
+                    mineCells.add(new int[]{r, c});
+                }
+            }
+        }
+    }
+
+    // Getters
+    public String getGameId() {
+        return gameId;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<int[]> getSafeCells() {
+        return safeCells;
+    }
+
+    public List<int[]> getMineCells() {
+        return mineCells;
+    }
+}
@@ -0,0 +1,43 @@
+package org.home.minesweepergame.dtos;
+
+// Request body for POST /api/large-game/create: dimensions and mine count of a chunked (huge) board.
+public class LargeGameCreationRequest {
+    private Integer rows;
+    private Integer cols;
+    private Integer mines;
+    private Long seed; // Optional: fixes the mine layout, e.g. for shared marathon boards
+
+    // Getters
+    public Integer getRows() {
+        return rows;
+    }
+
+    public Integer getCols() {
+        return cols;
+    }
+
+    public Integer getMines() {
+        return mines;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    // Setters
+    public void setRows(Integer rows) {
+        this.rows = rows;
+    }
+
+    public void setCols(Integer cols) {
+        this.cols = cols;
+    }
+
+    public void setMines(Integer mines) {
+        this.mines = mines;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
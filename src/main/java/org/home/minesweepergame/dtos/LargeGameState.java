@@ -0,0 +1,46 @@
+package org.home.minesweepergame.dtos;
+
+import org.home.minesweepergame.model.ChunkedBoard;
+import org.home.minesweepergame.model.GameStatus;
+
+// Summary of a chunked game returned by the large-game actions; cell contents are fetched through the viewport endpoint.
+public class LargeGameState {
+    private final String gameId;
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final GameStatus status;
+    private final long version;
+    private final long revealedSafeCells;
+    private final long safeCells;
+    private final int materializedChunks;
+    private final int totalChunks;
+    private final long timeTaken;
+
+    public LargeGameState(ChunkedBoard board) {
+        this.gameId = board.getGameId();
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.mines = board.getMines();
+        this.status = board.getStatus();
+        this.version = board.getVersion();
+        this.revealedSafeCells = board.getRevealedSafeCells();
+        this.safeCells = board.getSafeCellCount();
+        this.materializedChunks = board.getMaterializedChunks();
+        this.totalChunks = board.getTotalChunks();
+        this.timeTaken = board.getTimeTaken();
+    }
+
+    // Getters
+    public String getGameId() { return gameId; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getMines() { return mines; }
+    public GameStatus getStatus() { return status; }
+    public long getVersion() { return version; }
+    public long getRevealedSafeCells() { return revealedSafeCells; }
+    public long getSafeCells() { return safeCells; }
+    public int getMaterializedChunks() { return materializedChunks; }
+    public int getTotalChunks() { return totalChunks; }
+    public long getTimeTaken() { return timeTaken; }
+}
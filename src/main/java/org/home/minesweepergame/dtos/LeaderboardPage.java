@@ -0,0 +1,38 @@
+package org.home.minesweepergame.dtos;
+
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.Score;
+
+import java.util.List;
+
+// A slice of the full ranking for one difficulty; scores are in rank order starting at fromRank.
+public class LeaderboardPage {
+    private final Difficulty difficulty;
+    private final int totalScores;
+    private final int fromRank;
+    private final List<Score> scores;
+
+    public LeaderboardPage(Difficulty difficulty, int totalScores, int fromRank, List<Score> scores) {
+        this.difficulty = difficulty;
+        this.totalScores = totalScores;
+        this.fromRank = fromRank;
+        this.scores = scores;
+    }
+
+    // Getters
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getTotalScores() {
+        return totalScores;
+    }
+
+    public int getFromRank() {
+        return fromRank;
+    }
+
+    public List<Score> getScores() {
+        return scores;
+    }
+}
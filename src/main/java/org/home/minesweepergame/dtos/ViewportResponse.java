@@ -0,0 +1,39 @@
+package org.home.minesweepergame.dtos;
+
+import org.home.minesweepergame.model.GameStatus;
+
+import java.util.List;
+
+// A rectangular window of a chunked board. Each string in 'cells' is one board row, one character per cell:
+// '#' hidden, 'F' flagged, '*' mine (shown after a loss), '0'-'8' revealed with that many adjacent mines.
+public class ViewportResponse {
+    private final String gameId;
+    private final GameStatus status;
+    private final long version;
+    private final int row;
+    private final int col;
+    private final int height;
+    private final int width;
+    private final List<String> cells;
+
+    public ViewportResponse(String gameId, GameStatus status, long version, int row, int col, int height, int width, List<String> cells) {
+        this.gameId = gameId;
+        this.status = status;
+        this.version = version;
+        this.row = row;
+        this.col = col;
+        this.height = height;
+        this.width = width;
+        this.cells = cells;
+    }
+
+    // Getters
+    public String getGameId() { return gameId; }
+    public GameStatus getStatus() { return status; }
+    public long getVersion() { return version; }
+    public int getRow() { return row; }
+    public int getCol() { return col; }
+    public int getHeight() { return height; }
+    public int getWidth() { return width; }
+    public List<String> getCells() { return cells; }
+}
@@ -0,0 +1,48 @@
+package org.home.minesweepergame.model;
+
+/**
+ * Adjacent-mine counts for 64 cells at once. A board row is a long with bit c set if column c holds a mine;
+ * the eight neighbour bitmaps of a row are its own row and the rows above and below, shifted one column
+ * either way. Adding those eight words with bit-sliced carry-save adders gives each cell's count as four
+ * bit planes (bit c of planes[k] is bit k of column c's count), in a few dozen branch-free word operations
+ * per row instead of eight bounds-checked lookups per cell.
+ */
+public final class AdjacencyBits {
+
+    private AdjacencyBits() {
+    }
+
+    /**
+     * Sums the eight neighbour bitmaps into planes[0..3]. A "west" word has bit c set if column c-1 holds a mine,
+     * an "east" word if column c+1 does; the others are the rows above and below as they are.
+     */
+    public static void count(long aboveWest, long above, long aboveEast, long west, long east,
+                             long belowWest, long below, long belowEast, long[] planes) {
+        // Three full adders and a half adder take the eight inputs down to ones and four carries of weight two
+        long t1 = aboveWest ^ above;
+        long s1 = t1 ^ aboveEast;
+        long c1 = (aboveWest & above) | (t1 & aboveEast);
+        long t2 = west ^ east;
+        long s2 = t2 ^ belowWest;
+        long c2 = (west & east) | (t2 & belowWest);
+        long s3 = below ^ belowEast;
+        long c3 = below & belowEast;
+        long t4 = s1 ^ s2;
+        long c4 = (s1 & s2) | (t4 & s3);
+        planes[0] = t4 ^ s3;
+        // Twos: add the four carries
+        long t5 = c1 ^ c2;
+        long s5 = t5 ^ c3;
+        long c5 = (c1 & c2) | (t5 & c3);
+        planes[1] = s5 ^ c4;
+        long c6 = s5 & c4;
+        // Fours and eights
+        planes[2] = c5 ^ c6;
+        planes[3] = c5 & c6;
+    }
+
+    // The count of column c from the planes filled by count().
+    public static int countAt(long[] planes, int c) {
+        return (int) ((planes[0] >>> c & 1) | (planes[1] >>> c & 1) << 1 | (planes[2] >>> c & 1) << 2 | (planes[3] >>> c & 1) << 3);
+    }
+}
@@ -0,0 +1,407 @@
+package org.home.minesweepergame.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Board for very large games, split into 64x64 chunks that are generated lazily.
+ * <p>
+ * Nothing is allocated per chunk until it is needed. Each chunk gets a fixed share of the mines,
+ * computed once on the first click, and its mine layout is generated from the game seed and the chunk
+ * index, so any chunk can be rebuilt in isolation and in any order. A chunk's mines are generated when
+ * it or a neighbouring chunk is touched (64 longs). Its cell state (one packed byte per cell, same layout
+ * as GameBoard) is only allocated once the player touches that chunk. Rendering through peekState never
+ * allocates or generates anything in the chunk table.
+ * <p>
+ * Not thread-safe; LargeGameService serializes access per game.
+ */
+public class ChunkedBoard {
+    public static final int CHUNK_SHIFT = 6;
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Packed cell layout, as in GameBoard
+    private static final int CELL_MINE = 0x01;
+    private static final int CELL_REVEALED = 0x02;
+    private static final int CELL_FLAGGED = 0x04;
+    private static final int ADJACENT_SHIFT = 4;
+
+    // Rough cost of a materialized chunk: packed cells, mine rows, the Chunk object, its quota and table slot
+    private static final long CHUNK_BYTES = CHUNK_SIZE * CHUNK_SIZE + CHUNK_SIZE * Long.BYTES + 80;
+    // Mine rows of untouched chunks generated for peekState, kept outside the chunk table (direct-mapped by index)
+    private static final int PEEK_CACHE_SLOTS = 8;
+
+    private final String gameId;
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final long seed;
+    private final int chunkRows;
+    private final int chunkCols;
+    private final Chunk[] chunks;
+
+    private int[] chunkMineQuota; // Mines per chunk, fixed on the first click
+    private int safeRow = -1;     // First click; its 3x3 area never holds a mine
+    private int safeCol = -1;
+    private int materializedChunks;
+    private int generatedChunks;
+    private final int[] peekedChunks = new int[PEEK_CACHE_SLOTS];
+    private final long[][] peekedMineRows = new long[PEEK_CACHE_SLOTS][];
+    private long revealedSafeCells;
+
+    private GameStatus status = GameStatus.NOT_STARTED;
+    private long startTime;
+    private long timeTaken;
+    private long version;
+
+    private static final class Chunk {
+        long[] mineRows; // Bit c of mineRows[r] is set if local cell (r, c) is a mine; null until generated
+        byte[] cells;    // Packed cell state; null until the chunk is materialized
+    }
+
+    public ChunkedBoard(String gameId, int rows, int cols, int mines, long seed) {
+        this.gameId = gameId;
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.seed = seed;
+        this.chunkRows = (rows + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunkCols = (cols + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunks = new Chunk[chunkRows * chunkCols];
+    }
+
+    /**
+     * Fixes the safe area around the first click and splits the mines across chunks in proportion
+     * to their size (largest remainder first), moving any share that does not fit next to the safe area on.
+     */
+    public void start(int row, int col) {
+        this.safeRow = row;
+        this.safeCol = col;
+        int[] capacity = new int[chunks.length];
+        long totalCells = (long) rows * cols;
+        int[] quota = new int[chunks.length];
+        double[] remainder = new double[chunks.length];
+        int assigned = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            int cells = chunkHeight(i / chunkCols) * chunkWidth(i % chunkCols);
+            capacity[i] = cells - safeCellsIn(i);
+            double exact = (double) mines * cells / totalCells;
+            quota[i] = (int) exact;
+            remainder[i] = exact - quota[i];
+            assigned += quota[i];
+        }
+        Integer[] byRemainder = new Integer[chunks.length];
+        for (int i = 0; i < chunks.length; i++) byRemainder[i] = i;
+        Arrays.sort(byRemainder, (a, b) -> Double.compare(remainder[b], remainder[a]));
+        for (int i = 0; assigned < mines; i++, assigned++) { // Hand out the rounding remainder, largest fraction first
+            quota[byRemainder[i]]++;
+        }
+        int overflow = 0;
+        for (int i = 0; i < chunks.length; i++) { // Chunks crowded by the safe area pass their excess on
+            if (quota[i] > capacity[i]) {
+                overflow += quota[i] - capacity[i];
+                quota[i] = capacity[i];
+            }
+        }
+        for (int i = 0; overflow > 0 && i < chunks.length; i++) {
+            int extra = Math.min(overflow, capacity[i] - quota[i]);
+            quota[i] += extra;
+            overflow -= extra;
+        }
+        this.chunkMineQuota = quota;
+    }
+
+    // --- Cell access (materializes the chunk) ---
+    public boolean isMine(int row, int col) {
+        long[] mineRows = mineRows(chunkIndex(row, col));
+        return mineRows != null && (mineRows[row & CHUNK_MASK] >>> (col & CHUNK_MASK) & 1L) != 0;
+    }
+
+    public boolean isRevealed(int row, int col) {
+        return (cells(row, col)[localIndex(row, col)] & CELL_REVEALED) != 0;
+    }
+
+    public boolean isFlagged(int row, int col) {
+        return (cells(row, col)[localIndex(row, col)] & CELL_FLAGGED) != 0;
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return (cells(row, col)[localIndex(row, col)] & 0xFF) >>> ADJACENT_SHIFT;
+    }
+
+    public void setRevealed(int row, int col) {
+        byte[] cells = cells(row, col);
+        int index = localIndex(row, col);
+        if ((cells[index] & CELL_REVEALED) == 0) {
+            cells[index] |= CELL_REVEALED;
+            if ((cells[index] & CELL_MINE) == 0) revealedSafeCells++;
+        }
+    }
+
+    public void setFlagged(int row, int col, boolean flagged) {
+        byte[] cells = cells(row, col);
+        int index = localIndex(row, col);
+        cells[index] = (byte) (flagged ? cells[index] | CELL_FLAGGED : cells[index] & ~CELL_FLAGGED);
+    }
+
+    /**
+     * Cell state for rendering without materializing anything: untouched chunks read as hidden,
+     * and mines are shown once the game is lost. Uses the GameDelta state codes.
+     */
+    public int peekState(int row, int col) {
+        Chunk chunk = chunks[chunkIndex(row, col)];
+        int state = chunk == null || chunk.cells == null ? 0 : chunk.cells[localIndex(row, col)];
+        if (status == GameStatus.LOST && peekMine(row, col)) {
+            return -3;
+        }
+        if ((state & CELL_REVEALED) != 0) {
+            return (state & 0xFF) >>> ADJACENT_SHIFT;
+        }
+        return (state & CELL_FLAGGED) != 0 ? -2 : -1;
+    }
+
+    // Like isMine, but an untouched chunk's mines are generated into the small peek cache instead of the chunk table.
+    private boolean peekMine(int row, int col) {
+        if (chunkMineQuota == null) {
+            return false;
+        }
+        int index = chunkIndex(row, col);
+        Chunk chunk = chunks[index];
+        long[] mineRows;
+        if (chunk != null && chunk.mineRows != null) {
+            mineRows = chunk.mineRows;
+        } else {
+            int slot = index & (PEEK_CACHE_SLOTS - 1);
+            if (peekedMineRows[slot] == null || peekedChunks[slot] != index) {
+                peekedMineRows[slot] = generateMines(index);
+                peekedChunks[slot] = index;
+            }
+            mineRows = peekedMineRows[slot];
+        }
+        return (mineRows[row & CHUNK_MASK] >>> (col & CHUNK_MASK) & 1L) != 0;
+    }
+
+    // --- Lazy generation ---
+    private byte[] cells(int row, int col) {
+        int index = chunkIndex(row, col);
+        Chunk chunk = chunk(index);
+        if (chunk.cells == null) {
+            materialize(index, chunk);
+        }
+        return chunk.cells;
+    }
+
+    // Builds the packed cells of one chunk. Adjacency is counted 64 cells at a time from the mine bitmaps
+    // (see AdjacencyBits); the rows above and below and the columns either side come from the neighbouring chunks.
+    private void materialize(int index, Chunk chunk) {
+        int chunkRow = index / chunkCols;
+        int chunkCol = index % chunkCols;
+        int height = chunkHeight(chunkRow);
+        int width = chunkWidth(chunkCol);
+        // Row i of these is local row i - 1, so the row above the chunk is at 0 and the one below at height + 1
+        long[] centre = new long[height + 2];
+        long[] west = new long[height + 2];
+        long[] east = new long[height + 2];
+        for (int i = 0; i < height + 2; i++) {
+            int row = (chunkRow << CHUNK_SHIFT) + i - 1;
+            if (row < 0 || row >= rows) {
+                continue; // Off the board: no mines
+            }
+            int sourceChunkRow = row >> CHUNK_SHIFT;
+            int local = row & CHUNK_MASK;
+            long mines = mineRowOf(sourceChunkRow, chunkCol, local);
+            long leftEdge = chunkCol > 0 ? mineRowOf(sourceChunkRow, chunkCol - 1, local) >>> CHUNK_MASK : 0;
+            long rightEdge = chunkCol + 1 < chunkCols ? mineRowOf(sourceChunkRow, chunkCol + 1, local) & 1L : 0;
+            centre[i] = mines;
+            west[i] = mines << 1 | leftEdge;
+            east[i] = mines >>> 1 | rightEdge << CHUNK_MASK;
+        }
+        byte[] cells = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        long[] planes = new long[4];
+        for (int r = 0; r < height; r++) {
+            int i = r + 1;
+            AdjacencyBits.count(west[i - 1], centre[i - 1], east[i - 1], west[i], east[i],
+                    west[i + 1], centre[i + 1], east[i + 1], planes);
+            long mines = centre[i];
+            for (int c = 0; c < width; c++) {
+                cells[(r << CHUNK_SHIFT) | c] = (byte) ((AdjacencyBits.countAt(planes, c) << ADJACENT_SHIFT) | (int) (mines >>> c & 1L) * CELL_MINE);
+            }
+        }
+        chunk.cells = cells;
+        materializedChunks++;
+    }
+
+    // Mine bitmap of one local row of a chunk; empty before the first click.
+    private long mineRowOf(int chunkRow, int chunkCol, int localRow) {
+        long[] mineRows = mineRows(chunkRow * chunkCols + chunkCol);
+        return mineRows == null ? 0L : mineRows[localRow];
+    }
+
+    private long[] mineRows(int index) {
+        if (chunkMineQuota == null) {
+            return null; // No mines before the first click
+        }
+        Chunk chunk = chunk(index);
+        if (chunk.mineRows == null) {
+            chunk.mineRows = generateMines(index);
+            generatedChunks++;
+        }
+        return chunk.mineRows;
+    }
+
+    // Partial Fisher-Yates over the chunk's free cells, seeded per chunk so chunks can be generated in any order.
+    private long[] generateMines(int index) {
+        int originRow = (index / chunkCols) << CHUNK_SHIFT;
+        int originCol = (index % chunkCols) << CHUNK_SHIFT;
+        int height = chunkHeight(index / chunkCols);
+        int width = chunkWidth(index % chunkCols);
+        int[] candidates = new int[height * width];
+        int free = 0;
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (!isSafe(originRow + r, originCol + c)) {
+                    candidates[free++] = (r << CHUNK_SHIFT) | c;
+                }
+            }
+        }
+        SplittableRandom random = new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (index + 1)));
+        long[] mineRows = new long[CHUNK_SIZE];
+        for (int i = 0; i < chunkMineQuota[index]; i++) {
+            int pick = i + random.nextInt(free - i);
+            int cell = candidates[pick];
+            candidates[pick] = candidates[i];
+            candidates[i] = cell;
+            mineRows[cell >>> CHUNK_SHIFT] |= 1L << (cell & CHUNK_MASK);
+        }
+        return mineRows;
+    }
+
+    private Chunk chunk(int index) {
+        Chunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks[index] = chunk;
+        }
+        return chunk;
+    }
+
+    private int safeCellsIn(int index) {
+        if (safeRow < 0) return 0;
+        int originRow = (index / chunkCols) << CHUNK_SHIFT;
+        int originCol = (index % chunkCols) << CHUNK_SHIFT;
+        int count = 0;
+        for (int r = safeRow - 1; r <= safeRow + 1; r++) {
+            for (int c = safeCol - 1; c <= safeCol + 1; c++) {
+                if (isInside(r, c) && r >= originRow && r < originRow + CHUNK_SIZE && c >= originCol && c < originCol + CHUNK_SIZE) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean isSafe(int row, int col) {
+        return Math.abs(row - safeRow) <= 1 && Math.abs(col - safeCol) <= 1;
+    }
+
+    private int chunkHeight(int chunkRow) {
+        return Math.min(CHUNK_SIZE, rows - (chunkRow << CHUNK_SHIFT));
+    }
+
+    private int chunkWidth(int chunkCol) {
+        return Math.min(CHUNK_SIZE, cols - (chunkCol << CHUNK_SHIFT));
+    }
+
+    private int chunkIndex(int row, int col) {
+        return (row >> CHUNK_SHIFT) * chunkCols + (col >> CHUNK_SHIFT);
+    }
+
+    private static int localIndex(int row, int col) {
+        return ((row & CHUNK_MASK) << CHUNK_SHIFT) | (col & CHUNK_MASK);
+    }
+
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    // --- Getters and Setters ---
+    public String getGameId() {
+        return gameId;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getMines() {
+        return mines;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getSafeCellCount() {
+        return (long) rows * cols - mines;
+    }
+
+    public long getRevealedSafeCells() {
+        return revealedSafeCells;
+    }
+
+    public int getMaterializedChunks() {
+        return materializedChunks;
+    }
+
+    public int getTotalChunks() {
+        return chunks.length;
+    }
+
+    // Chunks whose mine rows are stored in the chunk table; materialized chunks and their neighbours
+    int getGeneratedChunks() {
+        return generatedChunks;
+    }
+
+    /**
+     * Upper bound on the memory this board can grow to, with every chunk materialized.
+     */
+    public long getMaxBytes() {
+        return chunks.length * CHUNK_BYTES;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GameStatus status) {
+        this.status = status;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getTimeTaken() {
+        return timeTaken;
+    }
+
+    public void setTimeTaken(long timeTaken) {
+        this.timeTaken = timeTaken;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void incrementVersion() {
+        this.version++;
+    }
+}
@@ -1,6 +1,11 @@
 package org.home.minesweepergame.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Arrays;
 
 import java.util.UUID; // Ensure UUID is imported
 
@@ -9,21 +14,44 @@ import java.util.UUID; // Ensure UUID is imported
 // Optional: If you want a different table name than 'game_board'
 @Table(name = "games") // <--- Optional: Renames the table to 'games' instead of 'game_board'
 public class GameBoard {
+    // Bit layout of a packed cell: low bits are flags, high nibble is the adjacent mine count.
+    private static final int CELL_MINE = 0x01;
+    private static final int CELL_REVEALED = 0x02;
+    private static final int CELL_FLAGGED = 0x04;
+    private static final int ADJACENT_SHIFT = 4;
+    // Upper bound for the binary cells column (50x50 is the largest custom board)
+    private static final int MAX_PERSISTED_CELLS = 2500;
+
     @Id // <--- Specify primary key
     private String gameId;
     private int rows;
     private int cols;
     private int mines;
-    // We'll temporarily keep the actual Cell[][] for in-memory use,
-    // but it won't be directly mapped by JPA.
-    @Transient // <--- Mark as transient so JPA ignores this field
-    private Cell[][] board;
+    // Packed cell state, one byte per cell in row-major order (see the CELL_* masks below).
+    // Cell objects are only built on demand by getBoard() for the JSON view.
+    // Persisted as-is in a binary column (bytea on Postgres) by GamePersistence.
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(length = MAX_PERSISTED_CELLS)
+    private byte[] cells;
+    // Running count of revealed non-mine cells, maintained by setRevealed() so the win check is O(1).
+    @Transient
+    private int revealedSafeCells;
+    // Deductions for hints, built on the first hint request and then fed every reveal by GameService
+    @Transient
+    private HintEngine hintEngine;
     @Enumerated(EnumType.STRING) // Store enum as String in DB
     private GameStatus status;
     private long startTime;    // Timestamp when the game started (first reveal)
     private long timeTaken;    // Time taken to win the game (in milliseconds)
     @Enumerated(EnumType.STRING) // Store enum as String in DB
     private Difficulty difficulty; // The difficulty level for this game (EASY, MEDIUM, HARD, CUSTOM)
+    private long version;          // Incremented by every action that changes the board; used by delta responses
+    // Mine layout inputs: with the first click, the seed regenerates the exact board (see MineLayout).
+    // Nullable so rows saved before seeding existed still load.
+    private Long seed;
+    private Integer firstClickRow;
+    private Integer firstClickCol;
+    private Boolean noGuess;       // Mines are placed so the board can be solved without guessing
 
     // No-argument constructor for serialization/deserialization (e.g., by Spring's JSON converter)
     public GameBoard() {
@@ -33,12 +61,12 @@ public class GameBoard {
 
     // Constructor used by GameService to initialize a new game board.
     // It does NOT place mines or calculate adjacent mines; that's handled by GameService.
-    public GameBoard(String gameId, int rows, int cols, int mines, Cell[][] board, GameStatus status, Difficulty difficulty) {
+    public GameBoard(String gameId, int rows, int cols, int mines, GameStatus status, Difficulty difficulty) {
         this.gameId = gameId;
         this.rows = rows;
         this.cols = cols;
         this.mines = mines;
-        this.board = board; // The board is initialized with empty cells here, mines placed later
+        this.cells = new byte[rows * cols]; // All cells start hidden, unflagged and mine-free
         this.status = status;
         this.difficulty = difficulty;
         this.startTime = 0; // Will be set on first reveal
@@ -62,7 +90,23 @@ public class GameBoard {
         return mines;
     }
 
+    // Builds a Cell[][] view of the packed state; used for the JSON representation of the board.
     public Cell[][] getBoard() {
+        if (cells == null) {
+            return null;
+        }
+        Cell[][] board = new Cell[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int state = cells[r * cols + c];
+                Cell cell = new Cell(r, c);
+                cell.setMine((state & CELL_MINE) != 0);
+                cell.setRevealed((state & CELL_REVEALED) != 0);
+                cell.setFlagged((state & CELL_FLAGGED) != 0);
+                cell.setAdjacentMines((state & 0xFF) >>> ADJACENT_SHIFT);
+                board[r][c] = cell;
+            }
+        }
         return board;
     }
 
@@ -82,6 +126,52 @@ public class GameBoard {
         return difficulty;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public Integer getFirstClickRow() {
+        return firstClickRow;
+    }
+
+    public Integer getFirstClickCol() {
+        return firstClickCol;
+    }
+
+    public boolean isNoGuess() {
+        return Boolean.TRUE.equals(noGuess);
+    }
+
+    // Copy of the packed cell bytes, used for persistence snapshots.
+    @JsonIgnore
+    public byte[] copyCells() {
+        return cells == null ? null : Arrays.copyOf(cells, cells.length);
+    }
+
+    @JsonIgnore
+    public int getRevealedSafeCells() {
+        return revealedSafeCells;
+    }
+
+    @JsonIgnore
+    public HintEngine getHintEngine() {
+        return hintEngine;
+    }
+
+    public void setHintEngine(HintEngine hintEngine) {
+        this.hintEngine = hintEngine;
+    }
+
+    // Number of non-mine cells that must be revealed to win.
+    @JsonIgnore
+    public int getSafeCellCount() {
+        return rows * cols - mines;
+    }
+
     // --- Setters ---
     public void setGameId(String gameId) {
         this.gameId = gameId;
@@ -100,7 +190,21 @@ public class GameBoard {
     }
 
     public void setBoard(Cell[][] board) {
-        this.board = board;
+        if (board == null) {
+            this.cells = null;
+            return;
+        }
+        this.cells = new byte[rows * cols];
+        this.revealedSafeCells = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Cell cell = board[r][c];
+                setMine(r, c, cell.isMine());
+                setRevealed(r, c, cell.isRevealed());
+                setFlagged(r, c, cell.isFlagged());
+                setAdjacentMines(r, c, cell.getAdjacentMines());
+            }
+        }
     }
 
     public void setStatus(GameStatus status) {
@@ -119,22 +223,106 @@ public class GameBoard {
         this.difficulty = difficulty;
     }
 
-    @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Game ID: ").append(gameId).append("\n");
-        sb.append("Difficulty: ").append(difficulty).append("\n");
-        sb.append("Dimensions: ").append(rows).append("x").append(cols).append("\n");
-        sb.append("Mines: ").append(mines).append("\n");
-        sb.append("Status: ").append(status).append("\n");
-        sb.append("Time Taken: ").append(timeTaken > 0 ? (timeTaken / 1000.0) + "s" : "N/A").append("\n");
-        sb.append("Board:\n");
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                sb.append(board[r][c].toString()).append(" ");
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public void setFirstClickRow(Integer firstClickRow) {
+        this.firstClickRow = firstClickRow;
+    }
+
+    public void setFirstClickCol(Integer firstClickCol) {
+        this.firstClickCol = firstClickCol;
+    }
+
+    public void setNoGuess(boolean noGuess) {
+        this.noGuess = noGuess;
+    }
+
+    public void incrementVersion() {
+        this.version++;
+    }
+
+    // The revealed counter is not stored, so rebuild it when a board is loaded from the database.
+    @PostLoad
+    private void recountRevealedSafeCells() {
+        revealedSafeCells = 0;
+        if (cells == null) {
+            return;
+        }
+        for (byte state : cells) {
+            if ((state & (CELL_REVEALED | CELL_MINE)) == CELL_REVEALED) {
+                revealedSafeCells++;
             }
-            sb.append("\n");
         }
-        return sb.toString();
+    }
+
+    // --- Packed cell access ---
+    public boolean isMine(int row, int col) {
+        return (cells[row * cols + col] & CELL_MINE) != 0;
+    }
+
+    public boolean isRevealed(int row, int col) {
+        return (cells[row * cols + col] & CELL_REVEALED) != 0;
+    }
+
+    public boolean isFlagged(int row, int col) {
+        return (cells[row * cols + col] & CELL_FLAGGED) != 0;
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return (cells[row * cols + col] & 0xFF) >>> ADJACENT_SHIFT;
+    }
+
+    public void setMine(int row, int col, boolean mine) {
+        setBit(row * cols + col, CELL_MINE, mine);
+    }
+
+    public void setRevealed(int row, int col, boolean revealed) {
+        int index = row * cols + col;
+        int state = cells[index];
+        if (((state & CELL_REVEALED) != 0) != revealed && (state & CELL_MINE) == 0) {
+            revealedSafeCells += revealed ? 1 : -1;
+        }
+        setBit(index, CELL_REVEALED, revealed);
+    }
+
+    public void setFlagged(int row, int col, boolean flagged) {
+        setBit(row * cols + col, CELL_FLAGGED, flagged);
+    }
+
+    public void setAdjacentMines(int row, int col, int adjacentMines) {
+        int index = row * cols + col;
+        cells[index] = (byte) ((cells[index] & ~(0x0F << ADJACENT_SHIFT)) | (adjacentMines << ADJACENT_SHIFT));
+    }
+
+    // Row-major index access for the flood fill, which walks cells by index
+    public boolean isHiddenAndUnflagged(int index) {
+        return (cells[index] & (CELL_REVEALED | CELL_FLAGGED)) == 0;
+    }
+
+    public int getAdjacentMines(int index) {
+        return (cells[index] & 0xFF) >>> ADJACENT_SHIFT;
+    }
+
+    // Reveals a hidden cell that is not a mine, as setRevealed(row, col, true) would.
+    public void revealSafeCell(int index) {
+        cells[index] |= CELL_REVEALED;
+        revealedSafeCells++;
+    }
+
+    private void setBit(int index, int mask, boolean value) {
+        cells[index] = (byte) (value ? cells[index] | mask : cells[index] & ~mask);
+    }
+
+    // One-line summary; the cells are left out on purpose, as a board dump costs kilobytes per call.
+    @Override
+    public String toString() {
+        return "GameBoard{gameId='" + gameId + "', difficulty=" + difficulty + ", " + rows + "x" + cols
+                + ", mines=" + mines + ", status=" + status + ", version=" + version + "}";
     }
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+package org.home.minesweepergame.model;
+
+/**
+ * What a player can prove from the revealed numbers alone: hidden cells that are certainly safe and
+ * certainly mines. It never looks at hidden cells; it is fed each revealed number as the game progresses
+ * and keeps its deductions between calls, so a hint only costs the work caused by the new reveals.
+ * <p>
+ * Each board row is a bitset in a long (bit c = column c), so the unknown neighbours of a number are three
+ * masked words and subset checks between overlapping numbers are a few AND/NOT operations.
+ * Player flags are not trusted and play no part. Not thread-safe; callers hold the game's lock.
+ */
+public class HintEngine {
+    public static final int MAX_COLS = 62;
+
+    private final int rows;
+    private final int cols;
+    private final int totalMines;
+    private final long[] hidden;    // Not revealed yet
+    private final long[] mines;     // Proven mines
+    private final long[] safe;      // Proven safe but still hidden
+    private final long[] numbered;  // Revealed cells with a number above zero
+    private final byte[] numbers;   // Adjacent counts of revealed cells
+
+    private final int[] work;       // Numbers whose neighbourhood changed since they were last checked (ring buffer)
+    private final boolean[] queued;
+    private int workHead;
+    private int workSize;
+    private boolean settled = true; // No reveals or deductions pending since the last deduce()
+
+    public HintEngine(int rows, int cols, int totalMines) {
+        if (cols > MAX_COLS) {
+            throw new IllegalArgumentException("Hints support boards up to " + MAX_COLS + " columns.");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.totalMines = totalMines;
+        this.hidden = new long[rows];
+        this.mines = new long[rows];
+        this.safe = new long[rows];
+        this.numbered = new long[rows];
+        this.numbers = new byte[rows * cols];
+        this.work = new int[rows * cols];
+        this.queued = new boolean[rows * cols];
+        long fullRow = (1L << cols) - 1;
+        for (int r = 0; r < rows; r++) {
+            hidden[r] = fullRow;
+        }
+    }
+
+    /**
+     * Builds an engine for a board that is already in progress, e.g. on the first hint request or after a reload.
+     */
+    public static HintEngine fromBoard(GameBoard game) {
+        HintEngine engine = new HintEngine(game.getRows(), game.getCols(), game.getMines());
+        for (int r = 0; r < game.getRows(); r++) {
+            for (int c = 0; c < game.getCols(); c++) {
+                if (game.isRevealed(r, c) && !game.isMine(r, c)) {
+                    engine.onRevealed(r, c, game.getAdjacentMines(r, c));
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Records a newly revealed safe cell and its number.
+     */
+    public void onRevealed(int row, int col, int number) {
+        long bit = 1L << col;
+        if ((hidden[row] & bit) == 0) {
+            return;
+        }
+        hidden[row] &= ~bit;
+        safe[row] &= ~bit;
+        numbers[row * cols + col] = (byte) number;
+        if (number > 0) {
+            numbered[row] |= bit;
+        }
+        enqueueAround(row, col, 1);
+        settled = false;
+    }
+
+    /**
+     * Runs the deduction rules to a fixed point: single-number rules off the worklist, then subset rules
+     * between overlapping numbers, then the global mine count. Does nothing if nothing changed since the last call.
+     */
+    public void deduce() {
+        while (!settled) {
+            drainWorklist();
+            if (!applySubsetRules() && !applyMineCount()) {
+                settled = true;
+            }
+        }
+    }
+
+    // --- Results (call deduce() first) ---
+    public boolean isProvenSafe(int row, int col) {
+        return (safe[row] >>> col & 1L) != 0;
+    }
+
+    public boolean isProvenMine(int row, int col) {
+        return (mines[row] >>> col & 1L) != 0;
+    }
+
+    public int countProvenSafe() {
+        return count(safe);
+    }
+
+    public int countProvenMines() {
+        return count(mines);
+    }
+
+    // --- Rules ---
+
+    // A number whose missing mines equal its unknown neighbours proves them all mines; one with none missing proves them safe.
+    private void drainWorklist() {
+        while (workSize > 0) {
+            int index = work[workHead];
+            workHead = (workHead + 1) % work.length;
+            workSize--;
+            queued[index] = false;
+            int row = index / cols;
+            int col = index % cols;
+            int unknown = countUnknown(row, col);
+            if (unknown == 0) continue;
+            int missing = missingMines(row, col);
+            if (missing == 0) {
+                prove(row, col, safe, ~0L, ~0L, ~0L);
+            } else if (missing == unknown) {
+                prove(row, col, mines, ~0L, ~0L, ~0L);
+            }
+        }
+    }
+
+    // If A's unknown neighbours are a subset of B's, the cells only B sees hold exactly B's missing minus A's missing.
+    private boolean applySubsetRules() {
+        for (int aRow = 0; aRow < rows; aRow++) {
+            for (long pending = numbered[aRow]; pending != 0; pending &= pending - 1) {
+                int aCol = Long.numberOfTrailingZeros(pending);
+                int aUnknown = countUnknown(aRow, aCol);
+                if (aUnknown == 0) continue;
+                int aMissing = missingMines(aRow, aCol);
+                long aUp = unknownIn(aRow - 1, aCol);
+                long aMid = unknownIn(aRow, aCol);
+                long aDown = unknownIn(aRow + 1, aCol);
+
+                for (int bRow = Math.max(0, aRow - 2); bRow <= Math.min(rows - 1, aRow + 2); bRow++) {
+                    long others = numbered[bRow] & span(aCol, 2) & ~(bRow == aRow ? 1L << aCol : 0L);
+                    for (long candidates = others; candidates != 0; candidates &= candidates - 1) {
+                        int bCol = Long.numberOfTrailingZeros(candidates);
+                        // A's unknown rows must fall inside B's neighbourhood
+                        if (((aUp & ~unknownIn(aRow - 1, bCol, bRow)) | (aMid & ~unknownIn(aRow, bCol, bRow))
+                                | (aDown & ~unknownIn(aRow + 1, bCol, bRow))) != 0) {
+                            continue;
+                        }
+                        int onlyB = countUnknown(bRow, bCol) - aUnknown;
+                        if (onlyB == 0) continue;
+                        int onlyBMines = missingMines(bRow, bCol) - aMissing;
+                        if (onlyBMines == 0) {
+                            prove(bRow, bCol, safe, ~aUp, ~aMid, ~aDown, aRow);
+                            return true;
+                        }
+                        if (onlyBMines == onlyB) {
+                            prove(bRow, bCol, mines, ~aUp, ~aMid, ~aDown, aRow);
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Once every mine is proven the rest is safe; once the unknown cells are all mines they are proven too.
+    private boolean applyMineCount() {
+        int remaining = totalMines - count(mines);
+        int unknown = 0;
+        for (int r = 0; r < rows; r++) {
+            unknown += Long.bitCount(hidden[r] & ~mines[r] & ~safe[r]);
+        }
+        if (unknown == 0 || (remaining != 0 && remaining != unknown)) {
+            return false;
+        }
+        long[] target = remaining == 0 ? safe : mines;
+        for (int r = 0; r < rows; r++) {
+            target[r] |= hidden[r] & ~mines[r] & ~safe[r];
+        }
+        return true;
+    }
+
+    // --- Bitset helpers ---
+
+    // Columns col-1..col+1, clipped to the board.
+    private long neighbourhood(int col) {
+        if (col < 0 || col >= cols) return 0L;
+        long mask = col == 0 ? 0b11L : 0b111L << (col - 1);
+        return mask & ((1L << cols) - 1);
+    }
+
+    // Unknown cells of row `row` inside the 3-wide neighbourhood of column `col` (the cell itself excluded when on that row).
+    private long unknownIn(int row, int col) {
+        if (row < 0 || row >= rows) return 0L;
+        return neighbourhood(col) & hidden[row] & ~mines[row] & ~safe[row];
+    }
+
+    // As above, for the neighbourhood of (centreRow, col); empty when `row` is not adjacent to centreRow.
+    private long unknownIn(int row, int col, int centreRow) {
+        return Math.abs(row - centreRow) > 1 ? 0L : unknownIn(row, col);
+    }
+
+    private int countUnknown(int row, int col) {
+        return Long.bitCount(unknownIn(row - 1, col)) + Long.bitCount(unknownIn(row, col)) + Long.bitCount(unknownIn(row + 1, col));
+    }
+
+    private int missingMines(int row, int col) {
+        long around = neighbourhood(col);
+        int known = 0;
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            known += Long.bitCount(around & mines[r]);
+        }
+        return numbers[row * cols + col] - known;
+    }
+
+    private void prove(int row, int col, long[] target, long keepUp, long keepMid, long keepDown) {
+        prove(row, col, target, keepUp, keepMid, keepDown, row);
+    }
+
+    // Adds the unknown neighbours of (row, col) to target, except those masked out by the keep words,
+    // which are aligned on the rows around keepRow.
+    private void prove(int row, int col, long[] target, long keepUp, long keepMid, long keepDown, int keepRow) {
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            long keep = r == keepRow - 1 ? keepUp : r == keepRow ? keepMid : r == keepRow + 1 ? keepDown : ~0L;
+            long proven = unknownIn(r, col) & keep;
+            if (proven == 0) continue;
+            target[r] |= proven;
+            for (long bits = proven; bits != 0; bits &= bits - 1) {
+                enqueueAround(r, Long.numberOfTrailingZeros(bits), 1);
+            }
+        }
+    }
+
+    // Queues the revealed numbers within `radius` of a cell whose state changed.
+    private void enqueueAround(int row, int col, int radius) {
+        for (int r = Math.max(0, row - radius); r <= Math.min(rows - 1, row + radius); r++) {
+            for (long bits = numbered[r] & span(col, radius); bits != 0; bits &= bits - 1) {
+                int index = r * cols + Long.numberOfTrailingZeros(bits);
+                if (!queued[index]) {
+                    queued[index] = true;
+                    work[(workHead + workSize) % work.length] = index;
+                    workSize++;
+                }
+            }
+        }
+    }
+
+    private long span(int col, int radius) {
+        long mask = 0L;
+        for (int c = Math.max(0, col - radius); c <= Math.min(cols - 1, col + radius); c++) {
+            mask |= 1L << c;
+        }
+        return mask;
+    }
+
+    private static int count(long[] bitset) {
+        int count = 0;
+        for (long word : bitset) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
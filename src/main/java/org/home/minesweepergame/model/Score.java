@@ -1,18 +1,23 @@
 package org.home.minesweepergame.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
 import java.time.Instant; // For timestamp
+import java.util.UUID;
 
 @Entity // Marks this class as a JPA entity
-public class Score {
+public class Score implements Persistable<String> {
 
-    @Id // Specifies the primary key
-    @GeneratedValue(strategy = GenerationType.UUID) // Generates UUID for ID
+    @Id // Specifies the primary key; a UUID assigned on creation so a score can be acknowledged before it is written
     private String id;
     private String gameId; // Reference to the game this score belongs to
     private String playerName;
@@ -21,12 +26,28 @@ public class Score {
     private Difficulty difficulty;
     private long timestamp; // When the score was recorded (epoch milliseconds)
 
+    // Standing among all scores of the difficulty; only filled in on the addScore response
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer rank;
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalScores;
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double percentile; // Share of scores at or above this one, e.g. 2.0 for "top 2%"
+
+    // The id is assigned up front, so tell Spring Data whether this is a new row (persist) or a stored one (merge)
+    @Transient
+    private boolean stored;
+
     // Default constructor for JPA
     public Score() {
     }
 
     // Constructor for creating new Score objects
     public Score(String gameId, String playerName, long timeTaken, Difficulty difficulty) {
+        this.id = UUID.randomUUID().toString();
         this.gameId = gameId;
         this.playerName = playerName;
         this.timeTaken = timeTaken;
@@ -43,6 +64,18 @@ public class Score {
         this.id = id;
     }
 
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        this.stored = true;
+    }
+
     public String getGameId() {
         return gameId;
     }
@@ -83,6 +116,29 @@ public class Score {
         this.timestamp = timestamp;
     }
 
+    public Integer getRank() {
+        return rank;
+    }
+
+    public Integer getTotalScores() {
+        return totalScores;
+    }
+
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    // Copy of this score carrying its standing, so the instance shared with the leaderboards stays unranked.
+    public Score withRank(int rank, int totalScores) {
+        Score ranked = new Score(gameId, playerName, timeTaken, difficulty);
+        ranked.id = id;
+        ranked.timestamp = timestamp;
+        ranked.rank = rank;
+        ranked.totalScores = totalScores;
+        ranked.percentile = totalScores == 0 ? null : 100.0 * rank / totalScores;
+        return ranked;
+    }
+
     @Override
     public String toString() {
         return "Score{" +
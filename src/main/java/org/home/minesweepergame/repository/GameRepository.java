@@ -0,0 +1,10 @@
+package org.home.minesweepergame.repository;
+
+import org.home.minesweepergame.model.GameBoard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GameRepository extends JpaRepository<GameBoard, String> {
+    // Reads only; live boards are written in batches by GamePersistence
+}
@@ -19,6 +19,9 @@ public interface ScoreRepository extends JpaRepository<Score, String> {
     // and then by timestamp (ascending, for ties or scores saved at same time)
     List<Score> findTop10ByDifficultyOrderByTimeTakenAscTimestampAsc(Difficulty difficulty);
 
+    // Every score of a difficulty; used to rebuild the in-memory rank index
+    List<Score> findByDifficulty(Difficulty difficulty);
+
     // NEW METHOD FOR PESSIMISTIC LOCKING:
     // This method will fetch all scores for a given difficulty and acquire a write lock on them.
     // This ensures no other transaction can modify these scores until this transaction commits.
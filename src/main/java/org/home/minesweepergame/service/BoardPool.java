@@ -0,0 +1,117 @@
+package org.home.minesweepergame.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.home.minesweepergame.dtos.BoardPoolStats;
+import org.home.minesweepergame.model.Difficulty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a bounded stock of prepared mine layouts (the seeded shuffle, see MineLayout.Prepared) for each standard
+ * difficulty, so the first reveal only maps the drawn cells around the click and counts neighbours.
+ * A single low-priority background thread tops the pools up; when a pool is empty the caller generates inline.
+ */
+@Component
+public class BoardPool {
+
+    private final int capacity;
+    private final Map<Difficulty, BlockingQueue<MineLayout.Prepared>> pools = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, AtomicBoolean> refilling = new EnumMap<>(Difficulty.class);
+    private final ExecutorService refiller;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+
+    @Autowired
+    public BoardPool(@Value("${minesweeper.board-pool.size-per-difficulty:64}") int capacity) {
+        this.capacity = capacity;
+        for (Difficulty difficulty : GameService.DIFFICULTY_SETTINGS.keySet()) {
+            pools.put(difficulty, new ArrayBlockingQueue<>(Math.max(1, capacity)));
+            refilling.put(difficulty, new AtomicBoolean());
+        }
+        this.refiller = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "board-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY); // Request threads come first
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        pools.keySet().forEach(this::scheduleRefill);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+
+    /**
+     * Takes a prepared layout, or returns null if the difficulty is not pooled or its pool is empty.
+     * The caller fits it to the first click with {@link MineLayout.Prepared#forFirstClick}.
+     */
+    public MineLayout.Prepared take(Difficulty difficulty) {
+        BlockingQueue<MineLayout.Prepared> pool = pools.get(difficulty);
+        if (pool == null || capacity <= 0) {
+            return null;
+        }
+        MineLayout.Prepared layout = pool.poll();
+        if (layout == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        if (pool.size() <= capacity / 2) {
+            scheduleRefill(difficulty);
+        }
+        return layout;
+    }
+
+    public BoardPoolStats getStats() {
+        Map<Difficulty, Integer> available = new EnumMap<>(Difficulty.class);
+        pools.forEach((difficulty, pool) -> available.put(difficulty, pool.size()));
+        return new BoardPoolStats(available, hits.get(), misses.get(), generated.get());
+    }
+
+    // At most one refill task per difficulty is queued or running at a time.
+    private void scheduleRefill(Difficulty difficulty) {
+        if (capacity <= 0 || !refilling.get(difficulty).compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refiller.execute(() -> refill(difficulty));
+        } catch (RuntimeException e) { // Executor already shut down
+            refilling.get(difficulty).set(false);
+        }
+    }
+
+    private void refill(Difficulty difficulty) {
+        int[] settings = GameService.DIFFICULTY_SETTINGS.get(difficulty);
+        BlockingQueue<MineLayout.Prepared> pool = pools.get(difficulty);
+        try {
+            while (pool.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                long seed = ThreadLocalRandom.current().nextLong();
+                pool.offer(MineLayout.prepare(settings[0], settings[1], settings[2], seed));
+                generated.incrementAndGet();
+            }
+        } finally {
+            refilling.get(difficulty).set(false);
+        }
+    }
+}
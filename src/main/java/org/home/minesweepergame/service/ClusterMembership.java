@@ -0,0 +1,186 @@
+package org.home.minesweepergame.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Which instance owns which game when several run side by side. Live games only exist in the memory of one node,
+ * so every request for a game has to reach that node (see GameRoutingFilter).
+ * <p>
+ * A game is owned by the node that created it: its id is "nodeId.uuid". That makes the common case a string split,
+ * and adding a node never moves existing games. A game whose node has left the member list, or whose id carries
+ * no node (created before clustering was enabled), belongs to the node picked by a consistent-hash ring over the
+ * current members. That node loads it from the database on the first request. Removing a node therefore
+ * only reassigns that node's games, spread evenly over the others.
+ * <p>
+ * With no members configured the cluster is disabled: ids stay plain UUIDs and every game is local.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Pattern NODE_ID = Pattern.compile("[A-Za-z0-9_]+");
+    private static final int VIRTUAL_NODES = 128; // Ring points per member, for an even spread
+
+    private final String self;
+    private volatile View view;
+
+    // Immutable snapshot of the members and the ring built over them
+    private static final class View {
+        final Map<String, String> members; // nodeId -> base URL
+        final NavigableMap<Long, String> ring = new TreeMap<>();
+
+        View(Map<String, String> members) {
+            this.members = Collections.unmodifiableMap(new LinkedHashMap<>(members));
+            for (String node : members.keySet()) {
+                for (int i = 0; i < VIRTUAL_NODES; i++) {
+                    ring.put(hash(node + "#" + i), node);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param self This node's id; must appear in the member list when clustering is enabled.
+     * @param members Comma-separated "nodeId=baseUrl" pairs, e.g. "n1=http://localhost:8080,n2=http://localhost:8081".
+     */
+    @Autowired
+    public ClusterMembership(@Value("${minesweeper.cluster.node-id:}") String self,
+                             @Value("${minesweeper.cluster.members:}") String members) {
+        this.self = self;
+        this.view = new View(parse(members));
+        if (isEnabled() && !view.members.containsKey(self)) {
+            throw new IllegalArgumentException("minesweeper.cluster.node-id '" + self + "' is not in minesweeper.cluster.members.");
+        }
+    }
+
+    public boolean isEnabled() {
+        return !view.members.isEmpty();
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public Map<String, String> getMembers() {
+        return view.members;
+    }
+
+    // Base URL of a member, or null if it is not one.
+    public String urlOf(String nodeId) {
+        return view.members.get(nodeId);
+    }
+
+    /**
+     * A new game id owned by this node.
+     */
+    public String newGameId() {
+        String uuid = UUID.randomUUID().toString();
+        return isEnabled() ? self + "." + uuid : uuid;
+    }
+
+    /**
+     * The node that should serve the game: its creator while that node is a member, otherwise the ring's choice.
+     */
+    public String ownerOf(String gameId) {
+        View current = view;
+        if (current.members.isEmpty()) {
+            return self;
+        }
+        int dot = gameId.indexOf('.');
+        if (dot > 0) {
+            String creator = gameId.substring(0, dot);
+            if (current.members.containsKey(creator)) {
+                return creator;
+            }
+        }
+        Map.Entry<Long, String> point = current.ring.ceilingEntry(hash(gameId));
+        return (point != null ? point : current.ring.firstEntry()).getValue();
+    }
+
+    public boolean isLocal(String gameId) {
+        return ownerOf(gameId).equals(self);
+    }
+
+    /**
+     * Replaces the member list (e.g. when a node is added or drained). A list without this node drains it: it then
+     * owns no game and forwards every game request. That has to be asked for with `drain`, so a list that simply
+     * forgot this node is rejected. Callers hand off the games this node no longer owns afterwards
+     * (see GameService.handOffGames).
+     * @throws IllegalArgumentException if the list is malformed, or leaves this node out without `drain`.
+     * @throws IllegalStateException if this node was started without a node id, i.e. clustering was not configured.
+     */
+    public synchronized void updateMembers(Map<String, String> members, boolean drain) {
+        if (self.isEmpty()) {
+            throw new IllegalStateException("Clustering is not configured on this node; start it with minesweeper.cluster.node-id.");
+        }
+        Map<String, String> checked = new LinkedHashMap<>();
+        members.forEach((node, url) -> checked.put(checkNodeId(node), checkUrl(url)));
+        if (checked.isEmpty() && isEnabled()) {
+            throw new IllegalArgumentException("A running cluster cannot be switched off; restart the nodes without members.");
+        }
+        if (!checked.isEmpty() && !checked.containsKey(self) && !drain) {
+            throw new IllegalArgumentException("The member list leaves out this node (" + self + "); ask for drain to drain it.");
+        }
+        this.view = new View(checked);
+    }
+
+    private static Map<String, String> parse(String members) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String entry : members.split(",")) {
+            if (entry.isBlank()) continue;
+            int equals = entry.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Cluster member '" + entry + "' must look like nodeId=baseUrl.");
+            }
+            parsed.put(checkNodeId(entry.substring(0, equals).trim()), checkUrl(entry.substring(equals + 1).trim()));
+        }
+        return parsed;
+    }
+
+    private static String checkNodeId(String nodeId) {
+        if (!NODE_ID.matcher(nodeId).matches()) {
+            throw new IllegalArgumentException("Invalid node id '" + nodeId + "': use letters, digits and underscores.");
+        }
+        return nodeId;
+    }
+
+    // Requests are proxied to these URLs with the client's headers: only a plain http(s)://host[:port] is accepted
+    private static String checkUrl(String url) {
+        URI uri;
+        try {
+            uri = new URI(url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid member URL '" + url + "'.");
+        }
+        if (!("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null
+                || uri.getRawUserInfo() != null || !uri.getRawPath().isEmpty() || uri.getRawQuery() != null || uri.getRawFragment() != null) {
+            throw new IllegalArgumentException("Invalid member URL '" + url + "': use http(s)://host[:port].");
+        }
+        return uri.toString();
+    }
+
+    // 64-bit FNV-1a with a final avalanche step, so nearby keys land far apart on the ring.
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,84 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.GameBoard;
+
+/**
+ * Opens the region around a revealed zero cell: breadth-first over row-major cell indices, in the same order as
+ * a queue of neighbours visited row by row. Each cell enters the queue at most once (it is revealed first), so
+ * a plain int array of one slot per cell is enough and nothing is allocated per cell. Interior cells step to
+ * their eight neighbours by fixed index offsets; only cells on the board edge check bounds.
+ * <p>
+ * Not thread-safe: GameService keeps one per thread and reuses its queue across fills.
+ */
+final class FloodFill {
+
+    // Told about every opened cell, e.g. to record it in a delta
+    interface OpenedCell {
+        void opened(int row, int col);
+    }
+
+    private int[] queue = new int[256];
+    private int tail;
+    private int opened;
+
+    /**
+     * @param row The zero cell the fill starts from; already revealed.
+     * @param listener Called for each opened cell in opening order, or null.
+     * @return The number of cells opened.
+     */
+    int fill(GameBoard game, int row, int col, OpenedCell listener) {
+        int rows = game.getRows();
+        int cols = game.getCols();
+        if (queue.length < rows * cols) {
+            queue = new int[rows * cols];
+        }
+        int[] queue = this.queue;
+        int lastRow = rows - 1;
+        int lastCol = cols - 1;
+        int head = 0;
+        tail = 0;
+        opened = 0;
+        queue[tail++] = row * cols + col;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int r = current / cols;
+            int c = current - r * cols;
+            if (r > 0 && r < lastRow && c > 0 && c < lastCol) {
+                int above = current - cols;
+                int below = current + cols;
+                open(game, above - 1, cols, listener);
+                open(game, above, cols, listener);
+                open(game, above + 1, cols, listener);
+                open(game, current - 1, cols, listener);
+                open(game, current + 1, cols, listener);
+                open(game, below - 1, cols, listener);
+                open(game, below, cols, listener);
+                open(game, below + 1, cols, listener);
+            } else {
+                for (int nRow = r - 1; nRow <= r + 1; nRow++) {
+                    if (nRow < 0 || nRow > lastRow) continue;
+                    for (int nCol = c - 1; nCol <= c + 1; nCol++) {
+                        if (nCol < 0 || nCol > lastCol || (nRow == r && nCol == c)) continue;
+                        open(game, nRow * cols + nCol, cols, listener);
+                    }
+                }
+            }
+        }
+        return opened;
+    }
+
+    private void open(GameBoard game, int index, int cols, OpenedCell listener) {
+        if (!game.isHiddenAndUnflagged(index)) {
+            return;
+        }
+        game.revealSafeCell(index); // A zero cell has no mine neighbours
+        opened++;
+        if (listener != null) {
+            listener.opened(index / cols, index % cols);
+        }
+        if (game.getAdjacentMines(index) == 0) {
+            queue[tail++] = index;
+        }
+    }
+}
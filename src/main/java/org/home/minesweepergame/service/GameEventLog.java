@@ -0,0 +1,49 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.GameBoard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Structured log of game lifecycle events on the "minesweeper.events" logger: one key=value line per event,
+ * never the board. Events are sampled (minesweeper.events.sample-rate) and skipped before any formatting when
+ * the logger is off. logback-spring.xml routes the logger through a non-blocking async appender, so a request
+ * only pays for handing the event to a queue, and events are dropped rather than waited on when it is full.
+ */
+@Component
+public class GameEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger("minesweeper.events");
+
+    private final double sampleRate;
+
+    @Autowired
+    public GameEventLog(@Value("${minesweeper.events.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public void gameCreated(GameBoard game) {
+        if (sampled()) {
+            log.info("event=game_created gameId={} difficulty={} rows={} cols={} mines={} noGuess={}",
+                    game.getGameId(), game.getDifficulty(), game.getRows(), game.getCols(), game.getMines(), game.isNoGuess());
+        }
+    }
+
+    // Logs a game that just ended; the outcome is the board's status (WON or LOST).
+    public void gameFinished(GameBoard game) {
+        if (sampled()) {
+            log.info("event=game_finished gameId={} difficulty={} rows={} cols={} mines={} outcome={} timeTakenMs={}",
+                    game.getGameId(), game.getDifficulty(), game.getRows(), game.getCols(), game.getMines(),
+                    game.getStatus(), game.getTimeTaken());
+        }
+    }
+
+    private boolean sampled() {
+        return log.isInfoEnabled() && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
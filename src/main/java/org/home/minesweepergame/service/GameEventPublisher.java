@@ -0,0 +1,58 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.dtos.GameDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Per-game fan-out of cell-change events to push subscribers (e.g. WebSocket sessions).
+ * GameService only builds a delta for an action when the game has at least one subscriber,
+ * so games nobody is watching pay nothing for this.
+ */
+@Component
+public class GameEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(GameEventPublisher.class);
+
+    public interface Listener {
+        // Called while the game's lock is held, in version order; must not block for long.
+        void onDelta(GameDelta delta);
+    }
+
+    private final Map<String, Set<Listener>> listeners = new ConcurrentHashMap<>();
+
+    public void subscribe(String gameId, Listener listener) {
+        listeners.computeIfAbsent(gameId, id -> new CopyOnWriteArraySet<>()).add(listener);
+    }
+
+    public void unsubscribe(String gameId, Listener listener) {
+        listeners.computeIfPresent(gameId, (id, set) -> {
+            set.remove(listener);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    public boolean hasSubscribers(String gameId) {
+        return listeners.containsKey(gameId);
+    }
+
+    public void publish(GameDelta delta) {
+        Set<Listener> subscribers = listeners.get(delta.getGameId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Listener listener : subscribers) {
+            try {
+                listener.onDelta(delta);
+            } catch (RuntimeException e) {
+                log.warn("Error pushing update for game {}", delta.getGameId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.home.minesweepergame.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fixed pool of locks keyed by gameId hash. Actions on the same game always map to the same lock,
+// while different games almost always land on different stripes and run in parallel.
+// Shared by GameService (actions) and GamePersistence (snapshots for write-behind).
+@Component
+public class GameLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public GameLocks() {
+        this(Runtime.getRuntime().availableProcessors() * 64);
+    }
+
+    GameLocks(int minStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1; // Round up to a power of two
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock forGame(String gameId) {
+        int h = gameId.hashCode();
+        h ^= (h >>> 16); // Spread the high bits, as HashMap does
+        return stripes[h & mask];
+    }
+
+    int size() {
+        return stripes.length;
+    }
+}
@@ -0,0 +1,107 @@
+package org.home.minesweepergame.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game-engine meters, scraped from /actuator/prometheus next to the JVM, GC, Hikari and per-endpoint
+ * http.server.requests meters that Spring Boot registers itself. Meters are created once here, so the
+ * hot paths only increment or record.
+ */
+@Component
+public class GameMetrics {
+
+    // Counting games by status walks the whole store; the per-status gauges of one scrape share a single walk
+    private static final long LIVE_COUNTS_MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final GameStore activeGames;
+    private final Map<Difficulty, Counter> created = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, Counter> won = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, Counter> lost = new EnumMap<>(Difficulty.class);
+    private final Map<MinePlacement, Timer> placement = new EnumMap<>(MinePlacement.class);
+    private final DistributionSummary floodFillCells;
+    private final Timer scoreInsert;
+    private final DistributionSummary scoreBatchSize;
+    private Map<GameStatus, Integer> liveCounts; // Guarded by this
+    private long liveCountsAt;
+
+    // Where a first click's mine layout came from
+    public enum MinePlacement { POOL, GENERATED, NO_GUESS }
+
+    @Autowired
+    public GameMetrics(MeterRegistry registry, GameStore activeGames) {
+        this.activeGames = activeGames;
+        for (Difficulty difficulty : Difficulty.values()) {
+            String tag = difficulty.name();
+            // Not "created": the Prometheus registry would strip that suffix
+            created.put(difficulty, Counter.builder("minesweeper.games.new").tag("difficulty", tag).register(registry));
+            won.put(difficulty, Counter.builder("minesweeper.games.finished").tag("difficulty", tag).tag("outcome", "won").register(registry));
+            lost.put(difficulty, Counter.builder("minesweeper.games.finished").tag("difficulty", tag).tag("outcome", "lost").register(registry));
+        }
+        for (GameStatus status : GameStatus.values()) {
+            Gauge.builder("minesweeper.games.live", this, metrics -> metrics.liveGames(status))
+                    .description("Games held in the active-game store")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        for (MinePlacement source : MinePlacement.values()) {
+            placement.put(source, Timer.builder("minesweeper.mines.placement")
+                    .description("Time to lay out the mines on a first click")
+                    .tag("source", source.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        floodFillCells = DistributionSummary.builder("minesweeper.floodfill.cells")
+                .description("Cells opened by one flood fill")
+                .publishPercentileHistogram()
+                .register(registry);
+        scoreInsert = Timer.builder("minesweeper.scores.insert")
+                .description("Time to write one batch of scores")
+                .publishPercentileHistogram()
+                .register(registry);
+        scoreBatchSize = DistributionSummary.builder("minesweeper.scores.batch.size")
+                .description("Scores per insert batch")
+                .register(registry);
+    }
+
+    private synchronized int liveGames(GameStatus status) {
+        long now = System.nanoTime();
+        if (liveCounts == null || now - liveCountsAt > LIVE_COUNTS_MAX_AGE_NANOS) {
+            liveCounts = activeGames.getStats().getLiveGamesByStatus();
+            liveCountsAt = now;
+        }
+        return liveCounts.get(status);
+    }
+
+    public void gameCreated(Difficulty difficulty) {
+        created.get(difficulty).increment();
+    }
+
+    public void gameFinished(Difficulty difficulty, GameStatus status) {
+        (status == GameStatus.WON ? won : lost).get(difficulty).increment();
+    }
+
+    public void minesPlaced(MinePlacement source, long nanos) {
+        placement.get(source).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void floodFilled(int cells) {
+        floodFillCells.record(cells);
+    }
+
+    public void scoresInserted(int count, long nanos) {
+        scoreInsert.record(nanos, TimeUnit.NANOSECONDS);
+        scoreBatchSize.record(count);
+    }
+}
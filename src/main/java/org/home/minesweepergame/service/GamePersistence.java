@@ -0,0 +1,248 @@
+package org.home.minesweepergame.service;
+
+import jakarta.annotation.PreDestroy;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.home.minesweepergame.repository.GameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind persistence for live games.
+ * GameService marks a game dirty after each action; a background flush snapshots every dirty game
+ * once (so repeated actions between flushes are coalesced) and writes them in JDBC batches.
+ * The request path only touches the in-memory dirty map and never waits on the database.
+ */
+@Component
+public class GamePersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(GamePersistence.class);
+
+    private static final String UPDATE_SQL = "UPDATE games SET rows = ?, cols = ?, mines = ?, cells = ?, status = ?, "
+            + "start_time = ?, time_taken = ?, difficulty = ?, version = ?, seed = ?, first_click_row = ?, first_click_col = ?, no_guess = ? "
+            + "WHERE game_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO games (rows, cols, mines, cells, status, "
+            + "start_time, time_taken, difficulty, version, seed, first_click_row, first_click_col, no_guess, "
+            + "game_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final GameRepository gameRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameLocks gameLocks;
+    private final boolean enabled;
+    private final int batchSize;
+
+    // Games changed since the last flush, keyed by gameId; re-marking a game just overwrites its entry
+    private final Map<String, GameBoard> dirtyGames = new ConcurrentHashMap<>();
+    // Games taken out of dirtyGames by a flush that has not committed yet; their rows may still be older
+    private final Map<String, GameBoard> flushingGames = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public GamePersistence(GameRepository gameRepository, JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate, GameLocks gameLocks,
+                           @Value("${minesweeper.persistence.enabled:true}") boolean enabled,
+                           @Value("${minesweeper.persistence.batch-size:500}") int batchSize) {
+        this.gameRepository = gameRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.gameLocks = gameLocks;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queues the game for the next flush. Called by GameService while it holds the game's lock.
+     */
+    public void markDirty(GameBoard game) {
+        if (enabled) {
+            dirtyGames.put(game.getGameId(), game);
+        }
+    }
+
+    /**
+     * Loads a game that is no longer in memory, e.g. after a restart.
+     * Only unfinished games are returned; finished games stay in the table for history but are not resumed.
+     * A game with changes still waiting for a flush, or in one, is returned as its in-memory board, since
+     * its row is older.
+     */
+    public GameBoard loadActive(String gameId) {
+        if (!enabled) {
+            return null;
+        }
+        GameBoard unflushed = dirtyGames.get(gameId);
+        if (unflushed == null) {
+            unflushed = flushingGames.get(gameId);
+        }
+        if (unflushed != null) {
+            return isActive(unflushed) ? unflushed : null;
+        }
+        return gameRepository.findById(gameId).filter(GamePersistence::isActive).orElse(null);
+    }
+
+    /**
+     * Loads the stored boards of the given games, finished or not, in batches. Used to replay the move journal.
+     */
+    public Map<String, GameBoard> loadAll(Collection<String> gameIds) {
+        Map<String, GameBoard> games = new HashMap<>();
+        if (!enabled) {
+            return games;
+        }
+        List<String> ids = new ArrayList<>(gameIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            for (GameBoard game : gameRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + batchSize)))) {
+                games.put(game.getGameId(), game);
+            }
+        }
+        return games;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean exists(String gameId) {
+        return enabled && gameRepository.existsById(gameId);
+    }
+
+    public int pendingWrites() {
+        return dirtyGames.size();
+    }
+
+    /**
+     * True while the game has changes that are not in the database yet, queued or in a running flush.
+     * GameStore never evicts such a game: a reload from the database would bring back an older board.
+     */
+    public boolean isDirty(String gameId) {
+        return dirtyGames.containsKey(gameId) || flushingGames.containsKey(gameId);
+    }
+
+    /**
+     * Writes one game now, on the calling thread, which must hold the game's lock. Used to hand a game off to
+     * another node, which loads it from the database right after.
+     * @return True if the game's current state is stored.
+     */
+    public boolean writeNow(GameBoard game) {
+        if (!enabled) {
+            return false;
+        }
+        try {
+            writeBatch(List.of(game));
+        } catch (Exception e) {
+            log.warn("Failed to persist game {}: {}", game.getGameId(), e.toString());
+            return false;
+        }
+        // No action can have marked it dirty again since the write: they run under the lock the caller holds.
+        // A running flush may still write the same state once more.
+        dirtyGames.remove(game.getGameId(), game);
+        return true;
+    }
+
+    /**
+     * Writes all dirty games. Runs on the scheduler and once more on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${minesweeper.persistence.flush-interval:PT1S}")
+    @PreDestroy
+    public void flush() {
+        writeDirtyGames();
+    }
+
+    /**
+     * Writes all dirty games now. Waits for a flush that is already running, so games it took out of the dirty
+     * map count as well.
+     * @return True if every game that was dirty when the call started is stored.
+     */
+    public boolean writeDirtyGames() {
+        if (!enabled) {
+            return false;
+        }
+        boolean complete = true;
+        // A shutdown flush must not interleave with a scheduled one, and nothing may report success while
+        // another flush still has uncommitted games
+        flushLock.lock();
+        try {
+            if (dirtyGames.isEmpty()) {
+                return true;
+            }
+            List<GameBoard> drained = new ArrayList<>();
+            for (Iterator<GameBoard> it = dirtyGames.values().iterator(); it.hasNext(); ) {
+                GameBoard game = it.next();
+                flushingGames.put(game.getGameId(), game); // Before the removal, so the game always shows as dirty
+                drained.add(game);
+                it.remove(); // An action after this point marks the game dirty again for the next flush
+            }
+            for (int from = 0; from < drained.size(); from += batchSize) {
+                List<GameBoard> batch = drained.subList(from, Math.min(drained.size(), from + batchSize));
+                try {
+                    writeBatch(batch);
+                } catch (Exception e) {
+                    complete = false;
+                    log.warn("Failed to persist {} games, will retry: {}", batch.size(), e.toString());
+                    for (GameBoard game : batch) {
+                        dirtyGames.putIfAbsent(game.getGameId(), game);
+                    }
+                }
+                for (GameBoard game : batch) {
+                    flushingGames.remove(game.getGameId());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        return complete;
+    }
+
+    private static boolean isActive(GameBoard game) {
+        return game.getStatus() == GameStatus.NOT_STARTED || game.getStatus() == GameStatus.IN_PROGRESS;
+    }
+
+    // Updates existing rows in one JDBC batch, then inserts the games that had no row yet in a second one.
+    private void writeBatch(List<GameBoard> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (GameBoard game : batch) {
+            rows.add(snapshot(game));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    inserts.add(rows.get(i));
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            }
+        });
+    }
+
+    // Copies the board under its game lock so a concurrent action cannot be half-written.
+    private Object[] snapshot(GameBoard game) {
+        ReentrantLock lock = gameLocks.forGame(game.getGameId());
+        lock.lock();
+        try {
+            return new Object[]{
+                    game.getRows(), game.getCols(), game.getMines(), game.copyCells(), game.getStatus().name(),
+                    game.getStartTime(), game.getTimeTaken(), game.getDifficulty().name(), game.getVersion(),
+                    game.getSeed(), game.getFirstClickRow(), game.getFirstClickCol(), game.isNoGuess(), game.getGameId()
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,32 +1,131 @@
 package org.home.minesweepergame.service;
 
+import jakarta.annotation.PostConstruct;
+import org.home.minesweepergame.dtos.BoardPoolStats;
+import org.home.minesweepergame.dtos.GameActionRequest;
 import org.home.minesweepergame.dtos.GameCreationRequest;
-import org.home.minesweepergame.model.Cell;
+import org.home.minesweepergame.dtos.GameDelta;
+import org.home.minesweepergame.dtos.GameStoreStats;
+import org.home.minesweepergame.dtos.HintResponse;
 import org.home.minesweepergame.model.Difficulty;
 import org.home.minesweepergame.model.GameBoard;
 import org.home.minesweepergame.model.GameStatus;
+import org.home.minesweepergame.model.HintEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.LinkedList;
-import java.util.Random;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 @Service
 public class GameService {
 
-    private final Map<String, GameBoard> activeGames = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
+
+    // Bounded store of live games; evicts idle and finished games (see GameStore)
+    private final GameStore activeGames;
+    // Serializes actions per game: each reveal/flag/chord runs atomically on its board,
+    // while actions on different games proceed in parallel.
+    private final GameLocks gameLocks;
+    // Write-behind persistence of live boards, and the fallback source on a store miss
+    private final GamePersistence persistence;
+    // Push subscribers (WebSocket sessions) for cell-change events
+    private final GameEventPublisher events;
+    // Pre-generated mine layouts for the standard difficulties
+    private final BoardPool boardPool;
+    // Solver-checked layouts for no-guess games
+    private final NoGuessGenerator noGuessGenerator;
+    private final GameMetrics metrics;
+    // Sampled, asynchronous game lifecycle events (no board dumps on the request path)
+    private final GameEventLog eventLog;
+    // Owner of each game when several instances run; decides the ids of new games
+    private final ClusterMembership cluster;
+    // Crash log of every accepted action, replayed on startup over the last flushed boards
+    private final MoveJournal journal;
+    // Set while recoverFromJournal replays moves: their metrics and events were recorded when they were played
+    private boolean replaying;
+
+    // Reusable flood-fill queue per request thread (on virtual threads, one per request)
+    private static final ThreadLocal<FloodFill> FLOOD_FILL = ThreadLocal.withInitial(FloodFill::new);
 
     // Define standard dimensions for difficulties here
-    private static final Map<Difficulty, int[]> DIFFICULTY_SETTINGS = Map.of(
+    static final Map<Difficulty, int[]> DIFFICULTY_SETTINGS = Map.of(
             Difficulty.EASY, new int[]{9, 9, 10},      // rows, cols, mines
             Difficulty.MEDIUM, new int[]{16, 16, 40},
             Difficulty.HARD, new int[]{16, 30, 99}
     );
 
+    @Autowired
+    public GameService(GameStore activeGames, GameLocks gameLocks, GamePersistence persistence,
+                       GameEventPublisher events, BoardPool boardPool, NoGuessGenerator noGuessGenerator,
+                       GameMetrics metrics, GameEventLog eventLog, ClusterMembership cluster, MoveJournal journal) {
+        this.activeGames = activeGames;
+        this.gameLocks = gameLocks;
+        this.persistence = persistence;
+        this.events = events;
+        this.boardPool = boardPool;
+        this.noGuessGenerator = noGuessGenerator;
+        this.metrics = metrics;
+        this.eventLog = eventLog;
+        this.cluster = cluster;
+        this.journal = journal;
+    }
+
+    /**
+     * Rebuilds the games changed since the last database flush from the move journal: each game's stored board
+     * (or its journaled creation) with the journaled moves newer than it replayed on top. Mines are laid out
+     * from the journaled seed, so boards come back exactly as they were. Runs once, before requests are served.
+     */
+    @PostConstruct
+    public void recoverFromJournal() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, List<MoveJournal.Entry>> entries = journal.readRecoverable();
+        entries.keySet().removeIf(gameId -> !cluster.isLocal(gameId)); // Handed off to another node
+        Map<String, GameBoard> stored = persistence.loadAll(entries.keySet());
+        int recovered = 0;
+        int replayed = 0;
+        replaying = true;
+        try {
+            for (Map.Entry<String, List<MoveJournal.Entry>> game : entries.entrySet()) {
+                GameBoard board = stored.get(game.getKey());
+                boolean changed = false;
+                for (MoveJournal.Entry entry : game.getValue()) {
+                    if (entry.isCreate()) {
+                        if (board == null) {
+                            board = new GameBoard(entry.getGameId(), entry.getRows(), entry.getCols(), entry.getMines(),
+                                    GameStatus.NOT_STARTED, entry.getDifficulty());
+                            board.setSeed(entry.getSeed());
+                            board.setNoGuess(entry.isNoGuess());
+                            changed = true;
+                        }
+                    } else if (board != null && entry.getVersion() > board.getVersion()) {
+                        replayMoves(board, entry);
+                        replayed++;
+                        changed = true;
+                    }
+                }
+                if (changed) { // Otherwise the stored board is current and loads on demand
+                    persistence.markDirty(board); // Not in the database yet, so the store keeps it
+                    activeGames.put(board);
+                    recovered++;
+                }
+            }
+        } finally {
+            replaying = false;
+        }
+        log.info("Recovered {} games from the move journal ({} records replayed) in {} ms.",
+                recovered, replayed, (System.nanoTime() - start) / 1_000_000);
+    }
+
     /**
      * Creates a new game board based on either a predefined difficulty or custom settings.
      * This replaces the old 'startGame' method.
@@ -67,14 +166,16 @@ public class GameService {
             throw new IllegalArgumentException("Invalid game creation request. Specify either a predefined difficulty or custom rows, columns, and mines.");
         }
 
-        String gameId = UUID.randomUUID().toString();
-        Cell[][] board = new Cell[rows][cols];
-        initializeBoard(board, rows, cols); // Initialize cells before placing mines
-
-        GameBoard newGame = new GameBoard(gameId, rows, cols, mines, board, GameStatus.NOT_STARTED, difficultyType);
-        activeGames.put(gameId, newGame);
-
-        System.out.println("New game created: " + newGame);
+        String gameId = cluster.newGameId(); // Encodes this node as the owner when clustered
+        // The packed board starts with every cell hidden and mine-free; mines are placed on the first reveal
+        GameBoard newGame = new GameBoard(gameId, rows, cols, mines, GameStatus.NOT_STARTED, difficultyType);
+        newGame.setSeed(request.getSeed()); // Usually null: the seed is then chosen on the first reveal
+        newGame.setNoGuess(Boolean.TRUE.equals(request.getNoGuess()));
+        journal.appendCreate(newGame);
+        persistence.markDirty(newGame); // Before the store sees it, so the new game is never evicted unsaved
+        activeGames.put(newGame);
+        metrics.gameCreated(difficultyType);
+        eventLog.gameCreated(newGame);
         return newGame;
     }
 
@@ -82,79 +183,399 @@ public class GameService {
     // but ensure they use the GameBoard object retrieved from 'activeGames' map.
 
     public GameBoard getGame(String gameId) {
-        return activeGames.get(gameId);
+        GameBoard game = activeGames.get(gameId);
+        if (game != null) {
+            return game;
+        }
+        if (!cluster.isLocal(gameId)) {
+            return null; // Owned by another node: a copy loaded here would be played and stored next to the owner's
+        }
+        // Not in memory (evicted while idle, or the instance restarted): resume it from the database if unfinished
+        GameBoard stored = persistence.loadActive(gameId);
+        return stored == null ? null : activeGames.putIfAbsent(stored);
+    }
+
+    /**
+     * Tells whether a game that is no longer available has expired (as opposed to never existing):
+     * it was evicted from the store, or only its finished record remains in the database.
+     */
+    public boolean isGameExpired(String gameId) {
+        return getGame(gameId) == null && cluster.isLocal(gameId)
+                && (activeGames.wasEvicted(gameId) || persistence.exists(gameId));
+    }
+
+    /**
+     * Runs the reader on the game while holding its lock, so it sees the board between actions, never halfway
+     * through one. Deltas for the game are published under the same lock, so nothing is published while it runs.
+     * @return The reader's result, or null if the game is not found.
+     */
+    public <T> T readGame(String gameId, Function<GameBoard, T> reader) {
+        ReentrantLock lock = gameLocks.forGame(gameId);
+        GameBoard game = lockCurrentGame(gameId, lock);
+        if (game == null) {
+            return null;
+        }
+        try {
+            return reader.apply(game);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public BoardPoolStats getBoardPoolStats() {
+        return boardPool.getStats();
+    }
+
+    public GameStoreStats getStoreStats() {
+        return activeGames.getStats();
+    }
+
+    /**
+     * Hands off the games this node no longer owns after a membership change: each one is written to the database
+     * and dropped from memory under its game lock, so no action can slip in between, and the new owner loads the
+     * latest state on the first request (see GamePersistence.loadActive). Requests for them are already routed to
+     * the new owner by the time this runs. A game that cannot be written stays here.
+     * @return How many games were handed off.
+     */
+    public int handOffGames() {
+        if (!canHandOffGames()) {
+            log.warn("Games cannot be handed off without database persistence; their new owners will not find them.");
+            return 0;
+        }
+        int handedOff = 0;
+        for (String gameId : activeGames.gameIds()) {
+            if (cluster.isLocal(gameId)) {
+                continue;
+            }
+            ReentrantLock lock = gameLocks.forGame(gameId);
+            lock.lock();
+            try {
+                GameBoard game = activeGames.get(gameId);
+                if (game != null && persistence.writeNow(game) && activeGames.drop(game)) {
+                    handedOff++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return handedOff;
+    }
+
+    /**
+     * False without database persistence: there is nothing a new owner could load a game from.
+     */
+    public boolean canHandOffGames() {
+        return persistence.isEnabled();
     }
 
     public GameBoard revealCell(String gameId, int row, int col) {
-        GameBoard game = activeGames.get(gameId);
-        if (game == null || game.getStatus() == GameStatus.WON || game.getStatus() == GameStatus.LOST) {
-            return null; // Game not found or already ended
+        return revealCell(gameId, row, col, null);
+    }
+
+    /**
+     * Reveals a cell, optionally recording every changed cell into the given delta.
+     * @param delta Collector for the changed cells, or null when the caller only needs the board.
+     * @return The updated GameBoard, or null if the game is not found or already ended.
+     * @throws IllegalArgumentException if the cell is outside the board; the game is left unchanged.
+     */
+    public GameBoard revealCell(String gameId, int row, int col, GameDelta delta) {
+        return runAction(gameId, false, delta, (game, changes) -> applyReveal(game, row, col, changes),
+                game -> journal.appendMove(game, GameActionRequest.Type.REVEAL, row, col));
+    }
+
+    public GameBoard flagCell(String gameId, int row, int col) {
+        return flagCell(gameId, row, col, null);
+    }
+
+    public GameBoard flagCell(String gameId, int row, int col, GameDelta delta) {
+        return runAction(gameId, true, delta, (game, changes) -> applyFlag(game, row, col, changes),
+                game -> journal.appendMove(game, GameActionRequest.Type.FLAG, row, col));
+    }
+
+    public GameBoard chordClick(String gameId, int row, int col) {
+        return chordClick(gameId, row, col, null);
+    }
+
+    public GameBoard chordClick(String gameId, int row, int col, GameDelta delta) {
+        return runAction(gameId, true, delta, (game, changes) -> applyChord(game, row, col, changes),
+                game -> journal.appendMove(game, GameActionRequest.Type.CHORD, row, col));
+    }
+
+    /**
+     * Applies an ordered list of reveal/flag/chord actions to one game as a single atomic step.
+     * Processing stops at the first action that ends the game; flags and chords sent before the
+     * game has started are ignored, as are actions on cells that do not change.
+     * @param delta Collector for all cells changed by the batch, or null when the caller only needs the board.
+     * @return The updated GameBoard, or null if the game is not found or had already ended.
+     * @throws IllegalArgumentException if an action is missing its type or targets a cell outside the board.
+     */
+    public GameBoard applyActions(String gameId, List<GameActionRequest> actions, GameDelta delta) {
+        GameBoard current = getGame(gameId);
+        if (current == null) {
+            return null;
+        }
+        for (GameActionRequest action : actions) {
+            if (action.getType() == null) {
+                throw new IllegalArgumentException("Every action needs a type (REVEAL, FLAG or CHORD).");
+            }
+            if (!isValidCoord(action.getRow(), action.getCol(), current.getRows(), current.getCols())) {
+                throw new IllegalArgumentException("Cell " + action.getRow() + "," + action.getCol() + " is outside the board.");
+            }
+        }
+
+        return runAction(gameId, false, delta, (game, changes) -> applyBatch(game, actions, changes),
+                game -> journal.appendMoves(game, actions));
+    }
+
+    /**
+     * Lists the hidden cells that are provably safe or provably mines given only the revealed numbers.
+     * The deductions are kept on the board and extended incrementally as cells are revealed.
+     * @return The hints, or null if the game is not found.
+     */
+    public HintResponse getHint(String gameId) {
+        ReentrantLock lock = gameLocks.forGame(gameId);
+        GameBoard game = lockCurrentGame(gameId, lock);
+        if (game == null) {
+            return null;
+        }
+        try {
+            return hintsFor(game);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Plays every certain move: reveals the provably safe cells and flags the provable mines, repeating
+     * until the hints run dry or the game ends. Each round is one action under the game's lock, journaled
+     * and pushed like a player's batch. A player flag on a provably safe cell is removed before the cell is revealed.
+     * @return The updated GameBoard, or null if the game is not found or not in progress.
+     */
+    public GameBoard autoSolve(String gameId) {
+        GameBoard solved = null;
+        List<GameActionRequest> moves = new ArrayList<>();
+        while (true) {
+            moves.clear();
+            GameBoard game = runAction(gameId, true, null, (board, changes) -> playCertainMoves(board, moves, changes),
+                    board -> journal.appendMoves(board, moves));
+            if (game == null) {
+                break; // Gone (evicted, handed off) or ended by the previous round
+            }
+            solved = game;
+            if (moves.isEmpty()) {
+                break; // No certain move left
+            }
+        }
+        return solved;
+    }
+
+    private interface GameAction {
+        void apply(GameBoard game, GameDelta changes);
+    }
+
+    private interface JournalEntry {
+        void append(GameBoard game);
+    }
+
+    /**
+     * Runs one action atomically under the game's lock, then, if anything changed, queues the board for
+     * persistence, journals the action and pushes the changed cells to subscribers.
+     * @param requireStarted True for actions that only make sense on an IN_PROGRESS game (flag, chord).
+     */
+    private GameBoard runAction(String gameId, boolean requireStarted, GameDelta delta, GameAction action,
+                                JournalEntry journalEntry) {
+        ReentrantLock lock = gameLocks.forGame(gameId);
+        GameBoard game = lockCurrentGame(gameId, lock);
+        if (game == null) {
+            return null; // Game not found
+        }
+        try {
+            GameStatus status = game.getStatus();
+            if (status == GameStatus.WON || status == GameStatus.LOST
+                    || (requireStarted && status != GameStatus.IN_PROGRESS)) {
+                return null; // Game already ended (or not started yet, for flag/chord)
+            }
+            // Subscribers need a delta even when the caller asked for the full board
+            GameDelta changes = delta != null ? delta : (events.hasSubscribers(gameId) ? new GameDelta() : null);
+            long versionBefore = game.getVersion();
+            if (changes != null) changes.begin(game);
+            action.apply(game, changes);
+            if (changes != null) changes.complete(game);
+            if (game.getVersion() != versionBefore) {
+                persistence.markDirty(game); // Before the journal entry, so a compaction never drops an unstored move
+                journalEntry.append(game);
+                if (changes != null) events.publish(changes);
+            }
+            return game;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Looks the game up and takes its lock, looking again if the board was evicted or replaced in between, so the
+     * caller never changes a board the store no longer holds. The store only evicts under the lock, so the board
+     * stays current until the lock is released.
+     * @return The locked game, or null (with the lock not held) if it is not found.
+     */
+    private GameBoard lockCurrentGame(String gameId, ReentrantLock lock) {
+        while (true) {
+            GameBoard game = getGame(gameId);
+            if (game == null) {
+                return null;
+            }
+            lock.lock();
+            if (activeGames.holds(game)) {
+                return game;
+            }
+            lock.unlock();
+        }
+    }
+
+    // --- Action Implementations ---
+
+    // A batch from applyActions; also how journaled moves are replayed.
+    private void applyBatch(GameBoard game, List<GameActionRequest> actions, GameDelta changes) {
+        for (GameActionRequest action : actions) {
+            if (game.getStatus() == GameStatus.WON || game.getStatus() == GameStatus.LOST) {
+                break; // Stop at the first game-ending move
+            }
+            switch (action.getType()) {
+                case REVEAL -> applyReveal(game, action.getRow(), action.getCol(), changes);
+                case FLAG -> {
+                    if (game.getStatus() == GameStatus.IN_PROGRESS) applyFlag(game, action.getRow(), action.getCol(), changes);
+                }
+                case CHORD -> {
+                    if (game.getStatus() == GameStatus.IN_PROGRESS) applyChord(game, action.getRow(), action.getCol(), changes);
+                }
+            }
+        }
+    }
+
+    // Re-applies one journal record. A first click takes its layout straight from the journaled seed (the pool and
+    // the no-guess search are not deterministic on their own), and the clock fields are restored from the record.
+    private void replayMoves(GameBoard game, MoveJournal.Entry entry) {
+        if (game.getStatus() == GameStatus.NOT_STARTED) {
+            for (GameActionRequest move : entry.getMoves()) {
+                if (move.getType() == GameActionRequest.Type.REVEAL) {
+                    installLayout(game, MineLayout.forFirstClick(game.getRows(), game.getCols(), game.getMines(),
+                            move.getRow(), move.getCol(), entry.getSeed()), move.getRow(), move.getCol());
+                    game.setStatus(GameStatus.IN_PROGRESS);
+                    break;
+                }
+            }
+        }
+        applyBatch(game, entry.getMoves(), null);
+        game.setStartTime(entry.getStartTime());
+        if (entry.getTimeTaken() != null) {
+            game.setTimeTaken(entry.getTimeTaken());
+        }
+        if (game.getVersion() != entry.getVersion()) {
+            log.warn("Journal replay of game {} reached version {} instead of {}.", game.getGameId(), game.getVersion(), entry.getVersion());
+        }
+    }
+
+    // Call with the game's lock held.
+    private HintResponse hintsFor(GameBoard game) {
+        if (game.getStatus() != GameStatus.IN_PROGRESS || game.getCols() > HintEngine.MAX_COLS) {
+            return new HintResponse(game, null); // Nothing to deduce before the first click or after the end
+        }
+        HintEngine hints = game.getHintEngine();
+        if (hints == null) {
+            hints = HintEngine.fromBoard(game);
+            game.setHintEngine(hints);
+        }
+        hints.deduce();
+        return new HintResponse(game, hints);
+    }
+
+    // One round of autoSolve: plays the moves the current hints make certain and lists them for the journal.
+    // Stops where the game ends, as applyBatch does when the list is replayed.
+    private void playCertainMoves(GameBoard game, List<GameActionRequest> moves, GameDelta delta) {
+        HintResponse hint = hintsFor(game);
+        for (int[] cell : hint.getSafeCells()) {
+            if (game.getStatus() != GameStatus.IN_PROGRESS) {
+                return;
+            }
+            if (game.isRevealed(cell[0], cell[1])) {
+                continue; // Opened by an earlier reveal's flood fill
+            }
+            if (game.isFlagged(cell[0], cell[1])) {
+                applyFlag(game, cell[0], cell[1], delta); // Toggle the wrong flag off
+                moves.add(new GameActionRequest(GameActionRequest.Type.FLAG, cell[0], cell[1]));
+            }
+            applyReveal(game, cell[0], cell[1], delta);
+            moves.add(new GameActionRequest(GameActionRequest.Type.REVEAL, cell[0], cell[1]));
+        }
+        for (int[] cell : hint.getMineCells()) {
+            if (game.getStatus() != GameStatus.IN_PROGRESS) {
+                return;
+            }
+            if (!game.isFlagged(cell[0], cell[1])) {
+                applyFlag(game, cell[0], cell[1], delta);
+                moves.add(new GameActionRequest(GameActionRequest.Type.FLAG, cell[0], cell[1]));
+            }
+        }
+    }
+
+    private void applyReveal(GameBoard game, int row, int col, GameDelta delta) {
+        requireInside(game, row, col); // Before the first click below places mines and starts the clock
+        if (game.getStatus() == GameStatus.WON || game.getStatus() == GameStatus.LOST) {
+            return; // A previous reveal in the same action (e.g. a chord) already ended the game
         }
 
         // Start the game and place mines on the first reveal if NOT_STARTED
         if (game.getStatus() == GameStatus.NOT_STARTED) {
             game.setStartTime(System.currentTimeMillis());
             placeMines(game, row, col); // Pass the clicked cell to avoid placing a mine there
-            calculateAdjacentMines(game);
             game.setStatus(GameStatus.IN_PROGRESS);
         }
 
-        Cell cell = game.getBoard()[row][col];
-
-        if (cell.isRevealed() || cell.isFlagged()) {
-            return game; // Do nothing if already revealed or flagged
+        if (game.isRevealed(row, col) || game.isFlagged(row, col)) {
+            return; // Do nothing if already revealed or flagged
         }
 
-        cell.setRevealed(true);
+        game.setRevealed(row, col, true);
+        game.incrementVersion();
+        recordChange(game, row, col, delta);
 
-        if (cell.isMine()) {
+        if (game.isMine(row, col)) {
             game.setStatus(GameStatus.LOST);
-            revealAllMines(game); // Show all mines on loss
-            System.out.println("Game " + gameId + " LOST.");
+            revealAllMines(game, delta); // Show all mines on loss
+            recordFinish(game);
         } else {
-            if (cell.getAdjacentMines() == 0) {
+            if (game.getAdjacentMines(row, col) == 0) {
                 // If the revealed cell has 0 adjacent mines, auto-reveal its neighbors
-                revealEmptyCells(game, row, col);
+                revealEmptyCells(game, row, col, delta);
             }
             if (checkWinCondition(game)) {
                 game.setStatus(GameStatus.WON);
                 game.setTimeTaken(System.currentTimeMillis() - game.getStartTime());
-                System.out.println("Game " + gameId + " WON. Time taken: " + game.getTimeTaken() + "ms.");
+                recordFinish(game);
             }
         }
-        return game;
     }
 
-    public GameBoard flagCell(String gameId, int row, int col) {
-        GameBoard game = activeGames.get(gameId);
-        if (game == null || game.getStatus() != GameStatus.IN_PROGRESS) {
-            return null;
+    private void applyFlag(GameBoard game, int row, int col, GameDelta delta) {
+        requireInside(game, row, col);
+        if (!game.isRevealed(row, col)) {
+            game.setFlagged(row, col, !game.isFlagged(row, col)); // Toggle flag
+            game.incrementVersion();
+            recordChange(game, row, col, delta);
         }
-
-        Cell cell = game.getBoard()[row][col];
-        if (!cell.isRevealed()) {
-            cell.setFlagged(!cell.isFlagged()); // Toggle flag
-        }
-        return game;
     }
 
-    public GameBoard chordClick(String gameId, int row, int col) {
-        GameBoard game = activeGames.get(gameId);
-        if (game == null || game.getStatus() != GameStatus.IN_PROGRESS) {
-            return null;
-        }
-
-        Cell clickedCell = game.getBoard()[row][col];
-
+    private void applyChord(GameBoard game, int row, int col, GameDelta delta) {
+        requireInside(game, row, col);
         // Chord only works if the cell is already revealed and is not a mine
-        if (!clickedCell.isRevealed() || clickedCell.isMine()) {
-            return game;
+        if (!game.isRevealed(row, col) || game.isMine(row, col)) {
+            return;
         }
 
         int flaggedNeighbors = countFlaggedNeighbors(game, row, col);
 
         // If flagged neighbors match adjacent mines, reveal unflagged non-mine neighbors
-        if (flaggedNeighbors == clickedCell.getAdjacentMines()) {
+        if (flaggedNeighbors == game.getAdjacentMines(row, col)) {
             for (int rOffset = -1; rOffset <= 1; rOffset++) {
                 for (int cOffset = -1; cOffset <= 1; cOffset++) {
                     if (rOffset == 0 && cOffset == 0) continue;
@@ -163,108 +584,83 @@ public class GameService {
                     int nCol = col + cOffset;
 
                     if (isValidCoord(nRow, nCol, game.getRows(), game.getCols())) {
-                        Cell neighborCell = game.getBoard()[nRow][nCol];
-                        if (!neighborCell.isRevealed() && !neighborCell.isFlagged()) {
-                            // Recursively call revealCell for non-flagged, unrevealed neighbors
+                        if (!game.isRevealed(nRow, nCol) && !game.isFlagged(nRow, nCol)) {
+                            // Reveal non-flagged, unrevealed neighbors through the normal reveal path
                             // Note: This can potentially trigger a loss if a mine is revealed
-                            revealCell(gameId, nRow, nCol); // Re-calling revealCell to ensure full game state update and win/loss checks
-                        } else if (neighborCell.isFlagged() && !neighborCell.isMine()) {
+                            applyReveal(game, nRow, nCol, delta); // Ensures full game state update and win/loss checks
+                        } else if (game.isFlagged(nRow, nCol) && !game.isMine(nRow, nCol)) {
                             // If a flagged neighbor is not a mine, it's an incorrect flag and chord click should fail
                             // For a true Minesweeper experience, incorrect flags on chord should result in loss
                             // We can uncomment the next lines to implement that strict rule
                             // game.setStatus(GameStatus.LOST);
-                            // revealAllMines(game);
-                            // return game;
+                            // revealAllMines(game, delta);
+                            // return;
                         }
                     }
                 }
             }
         }
-        return game;
     }
 
     // --- Helper Methods ---
 
-    private void initializeBoard(Cell[][] board, int rows, int cols) {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                board[r][c] = new Cell(r, c); // Ensure Cell constructor takes row and col
+    // Installs the mine layout for the first click. No-guess games search for a solver-checked layout;
+    // unseeded standard games take a pre-generated layout from the pool when one is ready; otherwise it is
+    // generated here. Either way the result depends only on the stored seed and first click, so the board
+    // can be regenerated later.
+    private void placeMines(GameBoard game, int initialRow, int initialCol) {
+        long start = System.nanoTime();
+        GameMetrics.MinePlacement source = game.isNoGuess() ? GameMetrics.MinePlacement.NO_GUESS : GameMetrics.MinePlacement.GENERATED;
+        MineLayout.Prepared pooled = game.getSeed() == null && !game.isNoGuess() ? boardPool.take(game.getDifficulty()) : null;
+        MineLayout layout;
+        if (pooled != null) {
+            layout = pooled.forFirstClick(initialRow, initialCol);
+            source = GameMetrics.MinePlacement.POOL;
+        } else {
+            long seed = game.getSeed() != null ? game.getSeed() : ThreadLocalRandom.current().nextLong();
+            if (game.isNoGuess()) {
+                NoGuessGenerator.Result result = noGuessGenerator.generate(game.getRows(), game.getCols(), game.getMines(),
+                        initialRow, initialCol, seed);
+                if (!result.isNoGuess()) {
+                    log.warn("No guess-free layout found in time for game {} after {} candidates; using a random layout.",
+                            game.getGameId(), result.getCandidatesTried());
+                }
+                layout = result.getLayout();
+            } else {
+                layout = MineLayout.forFirstClick(game.getRows(), game.getCols(), game.getMines(), initialRow, initialCol, seed);
             }
         }
+        installLayout(game, layout, initialRow, initialCol);
+        metrics.minesPlaced(source, System.nanoTime() - start);
     }
 
-    private void placeMines(GameBoard game, int initialRow, int initialCol) {
-        Random random = new Random();
-        int minesToPlace = game.getMines();
-        int rows = game.getRows();
-        int cols = game.getCols();
-
-        while (minesToPlace > 0) {
-            int r = random.nextInt(rows);
-            int c = random.nextInt(cols);
-
-            // Ensure mine is not placed on the initial clicked cell or its immediate neighbors
-            // to guarantee a safe first click.
-            boolean isInitialClickArea = (Math.abs(r - initialRow) <= 1 && Math.abs(c - initialCol) <= 1);
-
-            if (!game.getBoard()[r][c].isMine() && !isInitialClickArea) {
-                game.getBoard()[r][c].setMine(true);
-                minesToPlace--;
+    private void installLayout(GameBoard game, MineLayout layout, int initialRow, int initialCol) {
+        game.setSeed(layout.getSeed());
+        game.setFirstClickRow(initialRow);
+        game.setFirstClickCol(initialCol);
+        for (int r = 0; r < game.getRows(); r++) {
+            for (int c = 0; c < game.getCols(); c++) {
+                game.setMine(r, c, layout.isMine(r, c));
+                game.setAdjacentMines(r, c, layout.getAdjacentMines(r, c));
             }
         }
     }
 
-    private void calculateAdjacentMines(GameBoard game) {
-        int rows = game.getRows();
-        int cols = game.getCols();
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell currentCell = game.getBoard()[r][c];
-                if (!currentCell.isMine()) {
-                    int count = 0;
-                    for (int rOffset = -1; rOffset <= 1; rOffset++) {
-                        for (int cOffset = -1; cOffset <= 1; cOffset++) {
-                            if (rOffset == 0 && cOffset == 0) continue; // Skip self
-
-                            int nRow = r + rOffset;
-                            int nCol = c + cOffset;
-
-                            if (isValidCoord(nRow, nCol, rows, cols) && game.getBoard()[nRow][nCol].isMine()) {
-                                count++;
-                            }
-                        }
-                    }
-                    currentCell.setAdjacentMines(count);
-                }
-            }
+    private void revealEmptyCells(GameBoard game, int row, int col, GameDelta delta) {
+        // Only pay for the per-cell callback when something consumes the opened cells
+        FloodFill.OpenedCell listener = delta != null || game.getHintEngine() != null
+                ? (openedRow, openedCol) -> recordChange(game, openedRow, openedCol, delta)
+                : null;
+        int opened = FLOOD_FILL.get().fill(game, row, col, listener);
+        if (!replaying) {
+            metrics.floodFilled(opened);
         }
     }
 
-    private void revealEmptyCells(GameBoard game, int row, int col) {
-        Queue<Cell> queue = new LinkedList<>();
-        queue.add(game.getBoard()[row][col]);
-
-        while (!queue.isEmpty()) {
-            Cell current = queue.poll();
-
-            for (int rOffset = -1; rOffset <= 1; rOffset++) {
-                for (int cOffset = -1; cOffset <= 1; cOffset++) {
-                    if (rOffset == 0 && cOffset == 0) continue;
-
-                    int nRow = current.getRow() + rOffset;
-                    int nCol = current.getCol() + cOffset;
-
-                    if (isValidCoord(nRow, nCol, game.getRows(), game.getCols())) {
-                        Cell neighbor = game.getBoard()[nRow][nCol];
-                        if (!neighbor.isRevealed() && !neighbor.isFlagged()) {
-                            neighbor.setRevealed(true);
-                            if (neighbor.getAdjacentMines() == 0) {
-                                queue.add(neighbor);
-                            }
-                        }
-                    }
-                }
-            }
+    private void recordFinish(GameBoard game) {
+        if (!replaying) {
+            metrics.gameFinished(game.getDifficulty(), game.getStatus());
+            eventLog.gameFinished(game);
         }
     }
 
@@ -278,7 +674,7 @@ public class GameService {
                 int nCol = col + cOffset;
 
                 if (isValidCoord(nRow, nCol, game.getRows(), game.getCols())) {
-                    if (game.getBoard()[nRow][nCol].isFlagged()) {
+                    if (game.isFlagged(nRow, nCol)) {
                         flagged++;
                     }
                 }
@@ -288,31 +684,39 @@ public class GameService {
     }
 
     private boolean checkWinCondition(GameBoard game) {
-        int totalNonMines = (game.getRows() * game.getCols()) - game.getMines();
-        int revealedNonMines = 0;
+        // GameBoard keeps the revealed safe-cell count up to date on every reveal
+        return game.getRevealedSafeCells() == game.getSafeCellCount();
+    }
+
+    private void revealAllMines(GameBoard game, GameDelta delta) {
         for (int r = 0; r < game.getRows(); r++) {
             for (int c = 0; c < game.getCols(); c++) {
-                Cell currentCell = game.getBoard()[r][c];
-                if (!currentCell.isMine() && currentCell.isRevealed()) {
-                    revealedNonMines++;
+                if (game.isMine(r, c) && !game.isRevealed(r, c)) {
+                    game.setRevealed(r, c, true);
+                    recordChange(game, r, c, delta);
                 }
             }
         }
-        return revealedNonMines == totalNonMines;
     }
 
-    private void revealAllMines(GameBoard game) {
-        for (int r = 0; r < game.getRows(); r++) {
-            for (int c = 0; c < game.getCols(); c++) {
-                Cell currentCell = game.getBoard()[r][c];
-                if (currentCell.isMine()) {
-                    currentCell.setRevealed(true);
-                }
-            }
+    private void recordChange(GameBoard game, int row, int col, GameDelta delta) {
+        if (delta != null) {
+            delta.record(game, row, col);
+        }
+        HintEngine hints = game.getHintEngine();
+        if (hints != null && game.isRevealed(row, col) && !game.isMine(row, col)) {
+            hints.onRevealed(row, col, game.getAdjacentMines(row, col)); // Keep hint deductions current
         }
     }
 
     private boolean isValidCoord(int r, int c, int rows, int cols) {
         return r >= 0 && r < rows && c >= 0 && c < cols;
     }
+
+    // Single-cell actions check their cell before changing anything, as applyActions does for a whole batch
+    private void requireInside(GameBoard game, int row, int col) {
+        if (!isValidCoord(row, col, game.getRows(), game.getCols())) {
+            throw new IllegalArgumentException("Cell " + row + "," + col + " is outside the board.");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.dtos.GameStoreStats;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory store for live game boards.
+ * Games are evicted when they sit idle longer than the idle TTL, when they have been finished
+ * (WON/LOST) for longer than the score window, or when the store exceeds its entry or memory budget.
+ * A game is only evicted under its game lock and once its changes are in the database, so an action never
+ * runs on an evicted board and a reload never brings back an older one; busy or unflushed games are skipped.
+ */
+@Component
+public class GameStore {
+
+    // Rough fixed cost of one stored game (GameBoard fields, gameId string, map entry); the packed cells come on top
+    private static final long GAME_OVERHEAD_BYTES = 256;
+    // How many evicted gameIds are remembered so callers can tell "expired" apart from "never existed"
+    private static final int EVICTED_IDS_TO_REMEMBER = 10_000;
+
+    private final Map<String, Entry> games = new ConcurrentHashMap<>();
+    private final Set<String> recentlyEvicted = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > EVICTED_IDS_TO_REMEMBER;
+        }
+    });
+
+    private final GameLocks gameLocks;
+    private final GamePersistence persistence;
+    private final int maxEntries;
+    private final long maxMemoryBytes;
+    private final long idleTtlMillis;
+    private final long finishedTtlMillis;
+
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong finishedEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    public GameStore(GameLocks gameLocks, GamePersistence persistence,
+                     @Value("${minesweeper.games.max-entries:50000}") int maxEntries,
+                     @Value("${minesweeper.games.max-memory-mb:256}") long maxMemoryMb,
+                     @Value("${minesweeper.games.idle-ttl:PT30M}") Duration idleTtl,
+                     @Value("${minesweeper.games.finished-ttl:PT10M}") Duration finishedTtl) {
+        this.gameLocks = gameLocks;
+        this.persistence = persistence;
+        this.maxEntries = maxEntries;
+        this.maxMemoryBytes = maxMemoryMb * 1024 * 1024;
+        this.idleTtlMillis = idleTtl.toMillis();
+        this.finishedTtlMillis = finishedTtl.toMillis();
+    }
+
+    /**
+     * Returns the game and marks it as recently used, or null if it is not in the store.
+     */
+    public GameBoard get(String gameId) {
+        Entry entry = games.get(gameId);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.game;
+    }
+
+    /**
+     * Adds a game, evicting the least recently used games first if the store is over budget.
+     */
+    public void put(GameBoard game) {
+        Entry previous = games.put(game.getGameId(), new Entry(game));
+        if (previous != null) {
+            estimatedBytes.addAndGet(-previous.sizeBytes);
+        }
+        estimatedBytes.addAndGet(sizeOf(game));
+        if (isOverBudget()) {
+            trimToBudget();
+        }
+    }
+
+    /**
+     * Adds the game unless another thread stored one with the same id first.
+     * @return The game now held by the store.
+     */
+    public GameBoard putIfAbsent(GameBoard game) {
+        Entry entry = new Entry(game);
+        Entry existing = games.putIfAbsent(game.getGameId(), entry);
+        if (existing != null) {
+            existing.lastAccess = System.currentTimeMillis();
+            return existing.game;
+        }
+        estimatedBytes.addAndGet(entry.sizeBytes);
+        synchronized (recentlyEvicted) {
+            recentlyEvicted.remove(game.getGameId()); // Reloaded, so no longer expired
+        }
+        if (isOverBudget()) {
+            trimToBudget();
+        }
+        return game;
+    }
+
+    /**
+     * True if the store still holds this very board, i.e. it was not evicted or replaced since it was looked up.
+     * Callers holding the game's lock can rely on the answer until they release it.
+     */
+    public boolean holds(GameBoard game) {
+        Entry entry = games.get(game.getGameId());
+        return entry != null && entry.game == game;
+    }
+
+    /**
+     * True if the game was in the store but has since been evicted.
+     */
+    public boolean wasEvicted(String gameId) {
+        synchronized (recentlyEvicted) {
+            return recentlyEvicted.contains(gameId);
+        }
+    }
+
+    /**
+     * Periodically removes idle games and finished games whose score window has closed.
+     */
+    @Scheduled(fixedDelayString = "${minesweeper.games.sweep-interval:PT30S}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (Entry entry : games.values()) {
+            long idle = now - entry.lastAccess;
+            GameStatus status = entry.game.getStatus();
+            boolean finished = status == GameStatus.WON || status == GameStatus.LOST;
+            if (finished && idle > finishedTtlMillis) {
+                if (evict(entry)) finishedEvictions.incrementAndGet();
+            } else if (idle > idleTtlMillis) {
+                if (evict(entry)) idleEvictions.incrementAndGet();
+            }
+        }
+        if (isOverBudget()) {
+            trimToBudget();
+        }
+    }
+
+    /**
+     * The ids of the games held right now.
+     */
+    public List<String> gameIds() {
+        return new ArrayList<>(games.keySet());
+    }
+
+    /**
+     * Drops this board without remembering it as evicted: used when the game now lives on another node.
+     * The caller holds the game's lock and has just stored the board, so unlike eviction this does not wait
+     * for the background flush.
+     * @return False if the store no longer holds this board.
+     */
+    public boolean drop(GameBoard game) {
+        Entry entry = games.get(game.getGameId());
+        if (entry == null || entry.game != game || !games.remove(game.getGameId(), entry)) {
+            return false;
+        }
+        estimatedBytes.addAndGet(-entry.sizeBytes);
+        return true;
+    }
+
+    public GameStoreStats getStats() {
+        Map<GameStatus, Integer> byStatus = new LinkedHashMap<>();
+        for (GameStatus status : GameStatus.values()) {
+            byStatus.put(status, 0);
+        }
+        for (Entry entry : games.values()) {
+            byStatus.merge(entry.game.getStatus(), 1, Integer::sum);
+        }
+        return new GameStoreStats(games.size(), byStatus, estimatedBytes.get(),
+                idleEvictions.get(), finishedEvictions.get(), capacityEvictions.get());
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    // Evicts finished games first, then the least recently used ones, until the store is back under 90% of its budget.
+    private void trimToBudget() {
+        if (!trimming.compareAndSet(false, true)) {
+            return; // Another thread is already trimming
+        }
+        try {
+            List<Entry> candidates = new ArrayList<>(games.values());
+            candidates.sort(Comparator.comparing((Entry e) -> !isFinished(e.game)).thenComparingLong(e -> e.lastAccess));
+            long targetEntries = maxEntries * 9L / 10;
+            long targetBytes = maxMemoryBytes * 9 / 10;
+            for (Entry entry : candidates) {
+                if (games.size() <= targetEntries && estimatedBytes.get() <= targetBytes) {
+                    break;
+                }
+                if (evict(entry)) capacityEvictions.incrementAndGet();
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private boolean evict(Entry entry) {
+        if (!remove(entry)) {
+            return false;
+        }
+        synchronized (recentlyEvicted) {
+            recentlyEvicted.add(entry.game.getGameId());
+        }
+        return true;
+    }
+
+    // Removes the entry under its game lock unless the game has unflushed changes. Never waits for the lock:
+    // a game in use is not idle, and the caller may already hold another game's lock.
+    private boolean remove(Entry entry) {
+        String gameId = entry.game.getGameId();
+        ReentrantLock lock = gameLocks.forGame(gameId);
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            if (persistence.isDirty(gameId) || !games.remove(gameId, entry)) {
+                return false; // Not in the database yet, or already removed or replaced concurrently
+            }
+            estimatedBytes.addAndGet(-entry.sizeBytes);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isOverBudget() {
+        return games.size() > maxEntries || estimatedBytes.get() > maxMemoryBytes;
+    }
+
+    private static boolean isFinished(GameBoard game) {
+        return game.getStatus() == GameStatus.WON || game.getStatus() == GameStatus.LOST;
+    }
+
+    private static long sizeOf(GameBoard game) {
+        return GAME_OVERHEAD_BYTES + (long) game.getRows() * game.getCols();
+    }
+
+    private static final class Entry {
+        final GameBoard game;
+        final long sizeBytes;
+        volatile long lastAccess;
+
+        Entry(GameBoard game) {
+            this.game = game;
+            this.sizeBytes = sizeOf(game);
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+}
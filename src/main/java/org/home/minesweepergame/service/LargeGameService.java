@@ -0,0 +1,306 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.dtos.LargeGameCreationRequest;
+import org.home.minesweepergame.dtos.LargeGameState;
+import org.home.minesweepergame.dtos.ViewportResponse;
+import org.home.minesweepergame.model.ChunkedBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Game rules for huge ("marathon") boards backed by ChunkedBoard.
+ * Mirrors GameService's reveal/flag/chord behaviour, but only the chunks a player touches are generated,
+ * and clients read the board through bounded viewports instead of receiving the whole grid.
+ * These games are kept in memory only, within a count and a byte budget. Each game reserves the memory its board
+ * reaches with every chunk materialized, so a game that has been admitted never runs the server out of memory.
+ * Large games have their own lock stripes: a flood fill over millions of cells never blocks standard games.
+ * <p>
+ * With clustering, a large game lives on the node that created it (its id names that node, and GameRoutingFilter
+ * routes on it). Nothing is stored, so it is not handed off: draining or losing that node ends its large games.
+ */
+@Service
+public class LargeGameService {
+
+    private static final int MIN_SIZE = 10;
+    private static final int MAX_SIZE = 4000;
+    private static final int MAX_VIEWPORT = 256;
+
+    private final Map<String, ChunkedBoard> activeGames = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastAccess = new ConcurrentHashMap<>();
+    private final GameLocks gameLocks = new GameLocks();
+    private final Object admission = new Object(); // Makes the budget check and the insert of a new game atomic
+    private final int maxGames;
+    private final long maxMemoryBytes;
+    private final long idleTtlMillis;
+    private final ClusterMembership cluster;
+
+    @Autowired
+    public LargeGameService(ClusterMembership cluster,
+                            @Value("${minesweeper.large-games.max-games:100}") int maxGames,
+                            @Value("${minesweeper.large-games.max-memory-mb:1024}") long maxMemoryMb,
+                            @Value("${minesweeper.large-games.idle-ttl:PT2H}") Duration idleTtl) {
+        this.maxGames = maxGames;
+        this.maxMemoryBytes = maxMemoryMb * 1024 * 1024;
+        this.idleTtlMillis = idleTtl.toMillis();
+        this.cluster = cluster;
+    }
+
+    /**
+     * Creates a chunked board. Nothing beyond the chunk table is allocated until the first click.
+     * @throws IllegalArgumentException if the dimensions or mine count are out of range.
+     * @throws IllegalStateException if the server already holds the maximum number of large games, or the new
+     *         board does not fit in the memory budget next to them.
+     */
+    public LargeGameState createGame(LargeGameCreationRequest request) {
+        if (request.getRows() == null || request.getCols() == null || request.getMines() == null) {
+            throw new IllegalArgumentException("Large games need rows, columns and mines.");
+        }
+        int rows = request.getRows();
+        int cols = request.getCols();
+        int mines = request.getMines();
+        if (rows < MIN_SIZE || cols < MIN_SIZE || rows > MAX_SIZE || cols > MAX_SIZE) {
+            throw new IllegalArgumentException("Large game rows and columns must be between " + MIN_SIZE + " and " + MAX_SIZE + ".");
+        }
+        if (mines < 1 || mines > ((long) rows * cols) / 2) {
+            throw new IllegalArgumentException("Number of mines must be at least 1 and at most 50% of cells.");
+        }
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        ChunkedBoard board = new ChunkedBoard(cluster.newGameId(), rows, cols, mines, seed);
+        synchronized (admission) {
+            if (!fits(board)) {
+                evictIdle();
+                if (!fits(board)) {
+                    throw new IllegalStateException("Too many large games in progress, try again later.");
+                }
+            }
+            activeGames.put(board.getGameId(), board);
+            lastAccess.put(board.getGameId(), System.currentTimeMillis());
+        }
+        return new LargeGameState(board);
+    }
+
+    public LargeGameState getGame(String gameId) {
+        ChunkedBoard board = find(gameId);
+        return board == null ? null : withLock(board, () -> new LargeGameState(board));
+    }
+
+    public LargeGameState revealCell(String gameId, int row, int col) {
+        ChunkedBoard board = find(gameId);
+        if (board == null || !board.isInside(row, col)) {
+            return null;
+        }
+        return withLock(board, () -> {
+            if (board.getStatus() == GameStatus.WON || board.getStatus() == GameStatus.LOST) {
+                return null; // Game already ended
+            }
+            applyReveal(board, row, col);
+            return new LargeGameState(board);
+        });
+    }
+
+    public LargeGameState flagCell(String gameId, int row, int col) {
+        ChunkedBoard board = find(gameId);
+        if (board == null || !board.isInside(row, col)) {
+            return null;
+        }
+        return withLock(board, () -> {
+            if (board.getStatus() != GameStatus.IN_PROGRESS) {
+                return null;
+            }
+            if (!board.isRevealed(row, col)) {
+                board.setFlagged(row, col, !board.isFlagged(row, col)); // Toggle flag
+                board.incrementVersion();
+            }
+            return new LargeGameState(board);
+        });
+    }
+
+    public LargeGameState chordClick(String gameId, int row, int col) {
+        ChunkedBoard board = find(gameId);
+        if (board == null || !board.isInside(row, col)) {
+            return null;
+        }
+        return withLock(board, () -> {
+            if (board.getStatus() != GameStatus.IN_PROGRESS) {
+                return null;
+            }
+            if (board.isRevealed(row, col) && !board.isMine(row, col)
+                    && countFlaggedNeighbors(board, row, col) == board.getAdjacentMines(row, col)) {
+                for (int rOffset = -1; rOffset <= 1; rOffset++) {
+                    for (int cOffset = -1; cOffset <= 1; cOffset++) {
+                        int nRow = row + rOffset;
+                        int nCol = col + cOffset;
+                        if ((rOffset != 0 || cOffset != 0) && board.isInside(nRow, nCol)
+                                && !board.isRevealed(nRow, nCol) && !board.isFlagged(nRow, nCol)) {
+                            applyReveal(board, nRow, nCol);
+                        }
+                    }
+                }
+            }
+            return new LargeGameState(board);
+        });
+    }
+
+    /**
+     * Returns a window of at most 256x256 cells, clipped to the board. Reading never materializes chunks.
+     */
+    public ViewportResponse getViewport(String gameId, int row, int col, int height, int width) {
+        ChunkedBoard board = find(gameId);
+        if (board == null) {
+            return null;
+        }
+        int top = Math.max(0, Math.min(row, board.getRows() - 1));
+        int left = Math.max(0, Math.min(col, board.getCols() - 1));
+        int h = Math.max(1, Math.min(Math.min(height, MAX_VIEWPORT), board.getRows() - top));
+        int w = Math.max(1, Math.min(Math.min(width, MAX_VIEWPORT), board.getCols() - left));
+        return withLock(board, () -> {
+            List<String> cells = new ArrayList<>(h);
+            char[] line = new char[w];
+            for (int r = top; r < top + h; r++) {
+                for (int c = left; c < left + w; c++) {
+                    int state = board.peekState(r, c);
+                    line[c - left] = switch (state) {
+                        case -1 -> '#';
+                        case -2 -> 'F';
+                        case -3 -> '*';
+                        default -> (char) ('0' + state);
+                    };
+                }
+                cells.add(new String(line));
+            }
+            return new ViewportResponse(board.getGameId(), board.getStatus(), board.getVersion(), top, left, h, w, cells);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${minesweeper.games.sweep-interval:PT30S}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        lastAccess.forEach((gameId, accessed) -> {
+            if (now - accessed > idleTtlMillis) {
+                activeGames.remove(gameId);
+                lastAccess.remove(gameId);
+            }
+        });
+    }
+
+    // Bytes reserved by the games held now
+    private long reservedBytes() {
+        long reserved = 0;
+        for (ChunkedBoard board : activeGames.values()) {
+            reserved += board.getMaxBytes();
+        }
+        return reserved;
+    }
+
+    private boolean fits(ChunkedBoard board) {
+        return activeGames.size() < maxGames && reservedBytes() + board.getMaxBytes() <= maxMemoryBytes;
+    }
+
+    // --- Action Implementations ---
+
+    private void applyReveal(ChunkedBoard board, int row, int col) {
+        if (board.getStatus() == GameStatus.WON || board.getStatus() == GameStatus.LOST) {
+            return;
+        }
+        if (board.getStatus() == GameStatus.NOT_STARTED) {
+            board.setStartTime(System.currentTimeMillis());
+            board.start(row, col); // Fixes the safe area; mines are generated per chunk on demand
+            board.setStatus(GameStatus.IN_PROGRESS);
+        }
+        if (board.isRevealed(row, col) || board.isFlagged(row, col)) {
+            return;
+        }
+
+        board.setRevealed(row, col);
+        board.incrementVersion();
+        if (board.isMine(row, col)) {
+            board.setStatus(GameStatus.LOST); // Mines are shown by the viewport; revealing them all would materialize every chunk
+            return;
+        }
+        if (board.getAdjacentMines(row, col) == 0) {
+            revealEmptyCells(board, row, col);
+        }
+        if (board.getRevealedSafeCells() == board.getSafeCellCount()) {
+            board.setStatus(GameStatus.WON);
+            board.setTimeTaken(System.currentTimeMillis() - board.getStartTime());
+        }
+    }
+
+    // Breadth-first flood fill over global cell indices; chunks are materialized as the fill reaches them.
+    private void revealEmptyCells(ChunkedBoard board, int row, int col) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        int[] queue = new int[1024];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = row * cols + col;
+
+        while (head != tail) {
+            int current = queue[head++];
+            if (head == queue.length) head = 0;
+            int currentRow = current / cols;
+            int currentCol = current % cols;
+
+            for (int nRow = Math.max(0, currentRow - 1); nRow <= Math.min(rows - 1, currentRow + 1); nRow++) {
+                for (int nCol = Math.max(0, currentCol - 1); nCol <= Math.min(cols - 1, currentCol + 1); nCol++) {
+                    if (board.isRevealed(nRow, nCol) || board.isFlagged(nRow, nCol)) continue;
+                    board.setRevealed(nRow, nCol);
+                    if (board.getAdjacentMines(nRow, nCol) == 0) {
+                        if ((tail + 1) % queue.length == head) {
+                            // Ring buffer full: unroll it into a buffer twice the size
+                            int[] grown = new int[queue.length * 2];
+                            int size = 0;
+                            for (int i = head; i != tail; i = (i + 1) % queue.length) grown[size++] = queue[i];
+                            queue = grown;
+                            head = 0;
+                            tail = size;
+                        }
+                        queue[tail++] = nRow * cols + nCol;
+                        if (tail == queue.length) tail = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    private int countFlaggedNeighbors(ChunkedBoard board, int row, int col) {
+        int flagged = 0;
+        for (int nRow = row - 1; nRow <= row + 1; nRow++) {
+            for (int nCol = col - 1; nCol <= col + 1; nCol++) {
+                if ((nRow != row || nCol != col) && board.isInside(nRow, nCol) && board.isFlagged(nRow, nCol)) {
+                    flagged++;
+                }
+            }
+        }
+        return flagged;
+    }
+
+    private ChunkedBoard find(String gameId) {
+        ChunkedBoard board = activeGames.get(gameId);
+        if (board != null) {
+            lastAccess.put(gameId, System.currentTimeMillis());
+        }
+        return board;
+    }
+
+    private <T> T withLock(ChunkedBoard board, java.util.function.Supplier<T> action) {
+        ReentrantLock lock = gameLocks.forGame(board.getGameId());
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
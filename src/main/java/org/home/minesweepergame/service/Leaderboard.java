@@ -0,0 +1,87 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.Score;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Top-N scores per difficulty, held as immutable lists that are swapped atomically.
+ * Readers just take the current list (no locks); writers build a new list and compare-and-set it.
+ */
+class Leaderboard {
+
+    // Same order as the repository's top-scores query; the id breaks exact ties deterministically
+    static final Comparator<Score> RANKING = Comparator.comparingLong(Score::getTimeTaken)
+            .thenComparingLong(Score::getTimestamp)
+            .thenComparing(Score::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final int size;
+    private final Map<Difficulty, AtomicReference<List<Score>>> snapshots = new EnumMap<>(Difficulty.class);
+
+    Leaderboard(int size) {
+        this.size = size;
+        for (Difficulty difficulty : Difficulty.values()) {
+            snapshots.put(difficulty, new AtomicReference<>()); // null until loaded
+        }
+    }
+
+    // The current top scores, or null if this difficulty has not been loaded yet.
+    List<Score> get(Difficulty difficulty) {
+        return snapshots.get(difficulty).get();
+    }
+
+    /**
+     * Inserts a newly saved score if it makes the top N. Does nothing while the difficulty is not loaded;
+     * the load will read the score from the database.
+     */
+    void offer(Score score) {
+        AtomicReference<List<Score>> snapshot = snapshots.get(score.getDifficulty());
+        while (true) {
+            List<Score> current = snapshot.get();
+            if (current == null || (current.size() >= size && RANKING.compare(score, current.get(size - 1)) >= 0)) {
+                return; // Not loaded, or does not qualify
+            }
+            List<Score> updated = new ArrayList<>(current.size() + 1);
+            updated.addAll(current);
+            updated.add(score);
+            updated.sort(RANKING);
+            if (updated.size() > size) {
+                updated.remove(updated.size() - 1);
+            }
+            if (snapshot.compareAndSet(current, List.copyOf(updated))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces a difficulty's list with the database's view, keeping local scores saved since `since`
+     * (they may have been committed after the query ran) and those still waiting in `unwritten`.
+     */
+    void replace(Difficulty difficulty, List<Score> fromDatabase, long since, Set<String> unwritten) {
+        AtomicReference<List<Score>> snapshot = snapshots.get(difficulty);
+        while (true) {
+            List<Score> current = snapshot.get();
+            List<Score> merged = new ArrayList<>(fromDatabase);
+            if (current != null) {
+                for (Score score : current) {
+                    if ((score.getTimestamp() >= since || unwritten.contains(score.getId())) && merged.stream().noneMatch(s -> s.getId().equals(score.getId()))) {
+                        merged.add(score);
+                    }
+                }
+            }
+            merged.sort(RANKING);
+            List<Score> updated = List.copyOf(merged.subList(0, Math.min(size, merged.size())));
+            if (snapshot.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+}
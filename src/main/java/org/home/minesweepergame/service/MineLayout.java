@@ -0,0 +1,212 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.AdjacencyBits;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic mine placement. The same (rows, cols, mines, first click, seed) always yields the same
+ * layout, so a board can be rebuilt from its stored seed for replays, bug reports or shared daily boards.
+ * <p>
+ * The random part of a layout, the shuffled picks among the cells outside the safe area, does not depend on
+ * where the click lands, only on how many cells the clipped safe area has. BoardPool draws those picks before
+ * anyone has clicked (see Prepared); mapping them onto the cells around the click gives exactly the layout
+ * forFirstClick() generates inline.
+ */
+public final class MineLayout {
+
+    private final long seed;
+    private final int rows;
+    private final int cols;
+    private final boolean[] mines;   // Row-major
+    private final byte[] adjacent;   // Row-major adjacent mine counts
+
+    private MineLayout(long seed, int rows, int cols, boolean[] mines, byte[] adjacent) {
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.adjacent = adjacent;
+    }
+
+    /**
+     * The layout for a board whose first click is (row, col): the same result whether it came from the pool or not.
+     */
+    public static MineLayout forFirstClick(int rows, int cols, int mines, int row, int col, long seed) {
+        return fromCells(seed, rows, cols, place(rows, cols, mines, row, col, seed));
+    }
+
+    /**
+     * Draws the picks of a layout before its first click is known (see Prepared).
+     */
+    static Prepared prepare(int rows, int cols, int mines, long seed) {
+        return new Prepared(seed, rows, cols, mines);
+    }
+
+    /**
+     * The random draws of one layout, for each size the clipped safe area can have (9 cells inside the board,
+     * 6 on an edge, 4 in a corner). Turning them into the layout for a click is O(mines) plus the adjacent counts.
+     */
+    static final class Prepared {
+        private static final int[] SAFE_AREA_SIZES = {9, 6, 4};
+
+        private final long seed;
+        private final int rows;
+        private final int cols;
+        private final int[][] picks = new int[SAFE_AREA_SIZES.length][];
+
+        private Prepared(long seed, int rows, int cols, int mines) {
+            this.seed = seed;
+            this.rows = rows;
+            this.cols = cols;
+            for (int i = 0; i < SAFE_AREA_SIZES.length; i++) {
+                picks[i] = drawFreeCells(rows * cols - SAFE_AREA_SIZES[i], mines, seed);
+            }
+        }
+
+        MineLayout forFirstClick(int row, int col) {
+            int[] safeCells = safeCells(rows, cols, row, col);
+            for (int i = 0; i < SAFE_AREA_SIZES.length; i++) {
+                if (SAFE_AREA_SIZES[i] == safeCells.length) {
+                    return fromCells(seed, rows, cols, toBoardCells(picks[i], safeCells));
+                }
+            }
+            throw new IllegalStateException("Unexpected safe area of " + safeCells.length + " cells"); // Boards under 3x3
+        }
+
+        long getSeed() {
+            return seed;
+        }
+    }
+
+    private static MineLayout fromCells(long seed, int rows, int cols, int[] placed) {
+        boolean[] mineCells = new boolean[rows * cols];
+        for (int index : placed) {
+            mineCells[index] = true;
+        }
+        byte[] adjacent = cols <= Long.SIZE ? countByRows(rows, cols, placed) : countByMines(rows, cols, mineCells);
+        return new MineLayout(seed, rows, cols, mineCells, adjacent);
+    }
+
+    // Counts a row of cells at a time from one long per row (see AdjacencyBits).
+    static byte[] countByRows(int rows, int cols, int[] placed) {
+        long[] centre = new long[rows + 2]; // Row r is at r + 1, with an empty row above and below the board
+        for (int index : placed) {
+            centre[index / cols + 1] |= 1L << (index % cols);
+        }
+        long mask = cols == Long.SIZE ? -1L : (1L << cols) - 1;
+        long[] west = new long[rows + 2];
+        long[] east = new long[rows + 2];
+        for (int i = 1; i <= rows; i++) {
+            west[i] = centre[i] << 1 & mask;
+            east[i] = centre[i] >>> 1;
+        }
+        byte[] adjacent = new byte[rows * cols];
+        long[] planes = new long[4];
+        for (int i = 1; i <= rows; i++) {
+            AdjacencyBits.count(west[i - 1], centre[i - 1], east[i - 1], west[i], east[i],
+                    west[i + 1], centre[i + 1], east[i + 1], planes);
+            for (int c = 0, index = (i - 1) * cols; c < cols; c++, index++) {
+                adjacent[index] = (byte) AdjacencyBits.countAt(planes, c);
+            }
+        }
+        return adjacent;
+    }
+
+    // Boards wider than a long: each mine adds one to its neighbours on the board.
+    static byte[] countByMines(int rows, int cols, boolean[] mineCells) {
+        byte[] adjacent = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (!mineCells[r * cols + c]) continue;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                        if (nr != r || nc != c) {
+                            adjacent[nr * cols + nc]++;
+                        }
+                    }
+                }
+            }
+        }
+        return adjacent;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean isMine(int row, int col) {
+        return mines[row * cols + col];
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return adjacent[row * cols + col];
+    }
+
+    /**
+     * Picks the mine cells (row-major indices) for a board, never inside the 3x3 area around the first click.
+     * Runs in O(mines): a partial Fisher-Yates shuffle over the free cells that only remembers the swapped slots.
+     * @throws IllegalArgumentException if the mines do not fit outside the safe area.
+     */
+    public static int[] place(int rows, int cols, int mines, int safeRow, int safeCol, long seed) {
+        int[] safeCells = safeCells(rows, cols, safeRow, safeCol);
+        return toBoardCells(drawFreeCells(rows * cols - safeCells.length, mines, seed), safeCells);
+    }
+
+    // The shuffle itself: which of the free cells (numbered 0..free-1, skipping the safe area) hold the mines.
+    private static int[] drawFreeCells(int free, int mines, long seed) {
+        if (mines < 0 || mines > free) {
+            throw new IllegalArgumentException("Cannot place " + mines + " mines in " + free + " free cells.");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<Integer, Integer> swapped = new HashMap<>(mines * 2);
+        int[] picked = new int[mines];
+        for (int i = 0; i < mines; i++) {
+            int j = i + random.nextInt(free - i);
+            picked[i] = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i)); // Slot j now holds whatever slot i held
+        }
+        return picked;
+    }
+
+    private static int[] toBoardCells(int[] freeCells, int[] safeCells) {
+        int[] placed = new int[freeCells.length];
+        for (int i = 0; i < freeCells.length; i++) {
+            placed[i] = skipSafeCells(freeCells[i], safeCells);
+        }
+        return placed;
+    }
+
+    // Safe cells in ascending index order, clipped to the board.
+    private static int[] safeCells(int rows, int cols, int safeRow, int safeCol) {
+        int[] cells = new int[9];
+        int count = 0;
+        for (int r = Math.max(0, safeRow - 1); r <= Math.min(rows - 1, safeRow + 1); r++) {
+            for (int c = Math.max(0, safeCol - 1); c <= Math.min(cols - 1, safeCol + 1); c++) {
+                cells[count++] = r * cols + c;
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    // Maps the n-th free cell to its board index by stepping over the safe cells before it.
+    private static int skipSafeCells(int freeIndex, int[] safeCells) {
+        int index = freeIndex;
+        for (int safe : safeCells) {
+            if (index < safe) break;
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,510 @@
+package org.home.minesweepergame.service;
+
+import jakarta.annotation.PreDestroy;
+import org.home.minesweepergame.dtos.GameActionRequest;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of every accepted game action, so live games survive a crash between two write-behind
+ * flushes (see GamePersistence). GameService appends one record per created game and per action that changed
+ * a board, while it holds the game's lock; on startup it replays the journal over the last flushed state.
+ * <p>
+ * Records go into memory-mapped segment files of a fixed size. An append is a copy into the mapping, so a JVM
+ * crash loses nothing once the call returns. A sync thread forces the written range to disk every
+ * sync-interval, covering all records appended since the last force in one call (group commit). With
+ * sync-wait=true an append also waits for the force that covers it, which protects against an OS crash or
+ * power loss too, at the cost of a disk flush per group.
+ * <p>
+ * Compaction rolls to a new segment, flushes the dirty games to the database and deletes the older segments:
+ * everything in them is then part of the stored boards. Without database persistence nothing is deleted.
+ */
+@Component
+public class MoveJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(MoveJournal.class);
+
+    private static final byte CREATE = 1;
+    private static final byte MOVES = 2;
+    private static final int HEADER_BYTES = 8; // Body length, then the CRC32C of the body
+    private static final String SEGMENT_PREFIX = "moves-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final GameActionRequest.Type[] MOVE_TYPES = GameActionRequest.Type.values();
+
+    private final GamePersistence persistence;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long syncIntervalNanos;
+    private final boolean syncWait;
+
+    // Segments left by the previous run, oldest first; replayed once on startup
+    private final List<Path> recoverable = new ArrayList<>();
+
+    // Guards the active segment and the scratch buffer; held only for the copy of one record
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;           // Next free byte in the active segment
+    private long segmentBase;       // Journal offset of the active segment's first byte
+    private volatile long written;  // Journal offset after the last appended record
+    private volatile long synced;   // Journal offset up to which everything is forced to disk
+
+    private final Object syncMonitor = new Object();
+    private volatile boolean running;
+    private Thread syncThread;
+
+    /**
+     * @param segmentSize Size of one mapped segment file; also bounds the size of one record.
+     * @param syncInterval How often the sync thread forces new records to disk.
+     * @param syncWait True to make every append wait until its record is on disk.
+     */
+    @Autowired
+    public MoveJournal(GamePersistence persistence,
+                       @Value("${minesweeper.journal.enabled:false}") boolean enabled,
+                       @Value("${minesweeper.journal.directory:journal}") String directory,
+                       @Value("${minesweeper.journal.segment-size:64MB}") DataSize segmentSize,
+                       @Value("${minesweeper.journal.sync-interval:PT0.01S}") Duration syncInterval,
+                       @Value("${minesweeper.journal.sync-wait:false}") boolean syncWait) {
+        if (segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("minesweeper.journal.segment-size must be below 2GB.");
+        }
+        this.persistence = persistence;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.syncWait = syncWait;
+        if (!enabled) {
+            return;
+        }
+        if (!persistence.isEnabled()) {
+            log.warn("The move journal runs without database persistence: its segments are never compacted.");
+        }
+        try {
+            Files.createDirectories(this.directory);
+            try (Stream<Path> files = Files.list(this.directory)) {
+                files.filter(MoveJournal::isSegment).sorted().forEach(recoverable::add);
+            }
+            segmentIndex = recoverable.isEmpty() ? 0 : indexOf(recoverable.get(recoverable.size() - 1));
+            openNextSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the move journal in " + this.directory.toAbsolutePath(), e);
+        }
+        running = true;
+        syncThread = new Thread(this::syncLoop, "move-journal-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a new game: its size, difficulty and requested seed. Called by GameService before any move can reach it.
+     */
+    public void appendCreate(GameBoard game) {
+        if (!enabled) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            ByteBuffer body = startRecord(CREATE, game, 32);
+            body.put((byte) game.getDifficulty().ordinal());
+            body.putShort((short) game.getRows());
+            body.putShort((short) game.getCols());
+            body.putInt(game.getMines());
+            body.put((byte) (game.isNoGuess() ? 1 : 0));
+            putNullableLong(body, game.getSeed());
+            append(body);
+        } finally {
+            appendLock.unlock();
+        }
+        awaitSync();
+    }
+
+    /**
+     * Records one reveal, flag or chord that changed the game. Called by GameService under the game's lock,
+     * after the move was applied.
+     */
+    public void appendMove(GameBoard game, GameActionRequest.Type type, int row, int col) {
+        if (!enabled) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            ByteBuffer body = startMoves(game, 1);
+            putMove(body, type, row, col);
+            append(body);
+        } finally {
+            appendLock.unlock();
+        }
+        awaitSync();
+    }
+
+    /**
+     * Records a batch of moves applied as one step; replaying it stops where the original batch stopped.
+     */
+    public void appendMoves(GameBoard game, List<GameActionRequest> actions) {
+        if (!enabled) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            ByteBuffer body = startMoves(game, actions.size());
+            for (GameActionRequest action : actions) {
+                putMove(body, action.getType(), action.getRow(), action.getCol());
+            }
+            append(body);
+        } finally {
+            appendLock.unlock();
+        }
+        awaitSync();
+    }
+
+    /**
+     * Reads the segments left by the previous run, grouped by game in append order. A record that is cut
+     * short or fails its checksum ends its segment: it was being written when the process died.
+     */
+    public Map<String, List<Entry>> readRecoverable() {
+        Map<String, List<Entry>> entries = new LinkedHashMap<>();
+        for (Path file : recoverable) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                readSegment(file, in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()), entries);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read journal segment " + file, e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Rolls to a new segment, then deletes the older ones once every game changed before the roll is stored.
+     */
+    @Scheduled(fixedDelayString = "${minesweeper.journal.compaction-interval:PT1M}")
+    public void compact() {
+        if (!enabled || !running || !persistence.isEnabled()) {
+            return;
+        }
+        long keepFrom;
+        appendLock.lock();
+        try {
+            if (position > 0) {
+                rollSegment();
+            }
+            keepFrom = segmentIndex;
+        } catch (IOException e) {
+            log.warn("Move journal compaction could not roll the segment: {}", e.toString());
+            return;
+        } finally {
+            appendLock.unlock();
+        }
+        // Records before the roll were appended after their game was marked dirty, so this flush stores them
+        if (!persistence.writeDirtyGames()) {
+            return; // Some games failed to write; keep their records until a later flush succeeds
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(MoveJournal::isSegment).toList()) {
+                if (indexOf(file) < keepFrom) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Move journal compaction could not delete old segments: {}", e.toString());
+        }
+        recoverable.clear();
+    }
+
+    // Bytes appended since startup, and how many of them are forced to disk
+    public long getWrittenBytes() {
+        return written;
+    }
+
+    public long getSyncedBytes() {
+        return synced;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled || !running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(syncThread);
+        try {
+            syncThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            segment.force();
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close the move journal: {}", e.toString());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // --- Writing ---
+
+    private ByteBuffer startMoves(GameBoard game, int moves) {
+        ByteBuffer body = startRecord(MOVES, game, 32 + 5 * moves);
+        putNullableLong(body, game.getSeed());
+        body.putLong(game.getStartTime());
+        putNullableLong(body, game.getTimeTaken());
+        body.putInt(moves);
+        return body;
+    }
+
+    // Clears the scratch buffer (growing it if needed) and writes the fields every record starts with.
+    private ByteBuffer startRecord(byte type, GameBoard game, int bodyBytes) {
+        String gameId = game.getGameId();
+        int needed = HEADER_BYTES + 11 + gameId.length() + bodyBytes;
+        if (scratch.capacity() < needed) {
+            scratch = ByteBuffer.allocate(Math.max(needed, scratch.capacity() * 2));
+        }
+        ByteBuffer body = scratch.clear().position(HEADER_BYTES);
+        body.put(type);
+        body.putLong(game.getVersion());
+        body.putShort((short) gameId.length());
+        for (int i = 0; i < gameId.length(); i++) {
+            body.put((byte) gameId.charAt(i)); // Game ids are ASCII (UUIDs, optionally prefixed with a node id)
+        }
+        return body;
+    }
+
+    private static void putMove(ByteBuffer body, GameActionRequest.Type type, int row, int col) {
+        body.put((byte) type.ordinal());
+        body.putShort((short) row);
+        body.putShort((short) col);
+    }
+
+    private static void putNullableLong(ByteBuffer body, Long value) {
+        body.put((byte) (value != null ? 1 : 0));
+        body.putLong(value != null ? value : 0L);
+    }
+
+    // Copies the record into the active segment. The length goes in last, so a record cut short by a crash
+    // reads as the end of the segment.
+    private void append(ByteBuffer record) {
+        int length = record.position() - HEADER_BYTES;
+        int total = record.position();
+        if (total > segmentSize) {
+            throw new IllegalArgumentException("A journal record of " + total + " bytes does not fit in a segment.");
+        }
+        try {
+            if (position + total > segmentSize) {
+                rollSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the next journal segment", e);
+        }
+        crc.reset();
+        crc.update(record.array(), HEADER_BYTES, length);
+        segment.put(position + HEADER_BYTES, record.array(), HEADER_BYTES, length);
+        segment.putInt(position + 4, (int) crc.getValue());
+        segment.putInt(position, length);
+        position += total;
+        written = segmentBase + position;
+    }
+
+    // Called with the append lock held.
+    private void rollSegment() throws IOException {
+        segment.force(); // Its tail may not be synced yet
+        channel.close();
+        segmentBase += segmentSize;
+        openNextSegment();
+        written = segmentBase;
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        Path file = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize); // Zero-filled: a zero length ends the segment
+        position = 0;
+    }
+
+    // --- Group commit ---
+
+    private void syncLoop() {
+        while (running) {
+            MappedByteBuffer target;
+            long base;
+            long upTo;
+            appendLock.lock();
+            try {
+                target = segment;
+                base = segmentBase;
+                upTo = written;
+            } finally {
+                appendLock.unlock();
+            }
+            if (upTo > synced) {
+                int from = (int) Math.max(0, synced - base);
+                target.force(from, (int) (upTo - base) - from);
+                synced = upTo;
+                if (syncWait) {
+                    synchronized (syncMonitor) {
+                        syncMonitor.notifyAll();
+                    }
+                }
+            }
+            LockSupport.parkNanos(syncIntervalNanos); // Waiting appenders wake it early
+        }
+    }
+
+    // With sync-wait, blocks until the sync thread has forced everything appended so far.
+    private void awaitSync() {
+        if (!syncWait) {
+            return;
+        }
+        long target = written;
+        LockSupport.unpark(syncThread);
+        synchronized (syncMonitor) {
+            while (synced < target && running) {
+                try {
+                    syncMonitor.wait(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // --- Reading ---
+
+    private void readSegment(Path file, ByteBuffer in, Map<String, List<Entry>> entries) {
+        CRC32C check = new CRC32C();
+        int offset = 0;
+        while (offset + HEADER_BYTES <= in.limit()) {
+            int length = in.getInt(offset);
+            if (length == 0) {
+                return; // Unused tail of the segment
+            }
+            if (length < 0 || offset + HEADER_BYTES + length > in.limit()) {
+                log.warn("Journal segment {} ends with a truncated record at byte {}.", file.getFileName(), offset);
+                return;
+            }
+            ByteBuffer body = in.slice(offset + HEADER_BYTES, length);
+            check.reset();
+            check.update(body.duplicate());
+            if ((int) check.getValue() != in.getInt(offset + 4)) {
+                log.warn("Journal segment {} ends with a corrupt record at byte {}.", file.getFileName(), offset);
+                return;
+            }
+            Entry entry = decode(body);
+            entries.computeIfAbsent(entry.gameId, id -> new ArrayList<>()).add(entry);
+            offset += HEADER_BYTES + length;
+        }
+    }
+
+    private static Entry decode(ByteBuffer body) {
+        Entry entry = new Entry();
+        byte type = body.get();
+        entry.version = body.getLong();
+        byte[] id = new byte[body.getShort()];
+        body.get(id);
+        entry.gameId = new String(id, StandardCharsets.US_ASCII);
+        if (type == CREATE) {
+            entry.create = true;
+            entry.difficulty = Difficulty.values()[body.get()];
+            entry.rows = body.getShort();
+            entry.cols = body.getShort();
+            entry.mines = body.getInt();
+            entry.noGuess = body.get() == 1;
+            entry.seed = getNullableLong(body);
+        } else {
+            entry.seed = getNullableLong(body);
+            entry.startTime = body.getLong();
+            entry.timeTaken = getNullableLong(body);
+            int count = body.getInt();
+            entry.moves = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entry.moves.add(new GameActionRequest(MOVE_TYPES[body.get()], body.getShort(), body.getShort()));
+            }
+        }
+        return entry;
+    }
+
+    private static Long getNullableLong(ByteBuffer body) {
+        boolean present = body.get() == 1;
+        long value = body.getLong();
+        return present ? value : null;
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * One journal record: either a game's creation or a batch of moves with the game's state after them.
+     */
+    public static class Entry {
+        private String gameId;
+        private long version; // Board version after the record's moves; 0 for a creation
+        private boolean create;
+        // Creation
+        private Difficulty difficulty;
+        private int rows, cols, mines;
+        private boolean noGuess;
+        // Moves
+        private Long seed;     // The requested seed for a creation; the layout's seed after moves
+        private long startTime;
+        private Long timeTaken;
+        private List<GameActionRequest> moves;
+
+        public String getGameId() { return gameId; }
+        public long getVersion() { return version; }
+        public boolean isCreate() { return create; }
+        public Difficulty getDifficulty() { return difficulty; }
+        public int getRows() { return rows; }
+        public int getCols() { return cols; }
+        public int getMines() { return mines; }
+        public boolean isNoGuess() { return noGuess; }
+        public Long getSeed() { return seed; }
+        public long getStartTime() { return startTime; }
+        public Long getTimeTaken() { return timeTaken; }
+        public List<GameActionRequest> getMoves() { return moves; }
+    }
+}
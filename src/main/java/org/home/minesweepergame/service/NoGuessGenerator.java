@@ -0,0 +1,112 @@
+package org.home.minesweepergame.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds mine layouts that can be cleared from the first click without guessing (checked by NoGuessSolver).
+ * Candidates are numbered from the requested seed and tried in parallel on a dedicated work-stealing pool;
+ * the lowest-numbered solvable candidate wins, so the same seed and first click give the same board.
+ * If the time budget runs out first, the plain layout for the seed is used instead.
+ */
+@Component
+public class NoGuessGenerator {
+
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final long budgetNanos;
+
+    @Autowired
+    public NoGuessGenerator(@Value("${minesweeper.no-guess.time-budget:PT0.1S}") Duration budget,
+                            @Value("${minesweeper.no-guess.parallelism:0}") int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.budgetNanos = budget.toNanos();
+        this.pool = new ForkJoinPool(this.parallelism, pool -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("no-guess-" + worker.getPoolIndex());
+            worker.setDaemon(true);
+            return worker;
+        }, null, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Result of a generation: the layout, and whether it was verified guess-free or is the fallback.
+     */
+    public static final class Result {
+        private final MineLayout layout;
+        private final boolean noGuess;
+        private final int candidatesTried;
+
+        Result(MineLayout layout, boolean noGuess, int candidatesTried) {
+            this.layout = layout;
+            this.noGuess = noGuess;
+            this.candidatesTried = candidatesTried;
+        }
+
+        public MineLayout getLayout() {
+            return layout;
+        }
+
+        public boolean isNoGuess() {
+            return noGuess;
+        }
+
+        public int getCandidatesTried() {
+            return candidatesTried;
+        }
+    }
+
+    /**
+     * Searches for a guess-free layout for a board whose first click is (row, col).
+     * Blocks the caller for at most the configured time budget.
+     */
+    public Result generate(int rows, int cols, int mines, int row, int col, long seed) {
+        long deadline = System.nanoTime() + budgetNanos;
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger best = new AtomicInteger(Integer.MAX_VALUE);
+
+        Runnable search = () -> {
+            int candidate;
+            // Claim candidates in order; anything numbered above a solvable one can no longer win
+            while ((candidate = next.getAndIncrement()) < best.get() && System.nanoTime() < deadline) {
+                MineLayout layout = MineLayout.forFirstClick(rows, cols, mines, row, col, candidateSeed(seed, candidate));
+                if (NoGuessSolver.isSolvable(layout, mines, row, col)) {
+                    best.accumulateAndGet(candidate, Math::min);
+                }
+            }
+        };
+        List<ForkJoinTask<?>> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(pool.submit(search));
+        }
+        for (ForkJoinTask<?> worker : workers) {
+            worker.join();
+        }
+
+        int tried = Math.min(next.get(), best.get() == Integer.MAX_VALUE ? next.get() : best.get() + 1);
+        if (best.get() == Integer.MAX_VALUE) {
+            return new Result(MineLayout.forFirstClick(rows, cols, mines, row, col, seed), false, tried);
+        }
+        return new Result(MineLayout.forFirstClick(rows, cols, mines, row, col, candidateSeed(seed, best.get())), true, tried);
+    }
+
+    private static long candidateSeed(long seed, int candidate) {
+        return seed + SEED_STEP * candidate; // Candidate 0 is the requested seed itself
+    }
+}
@@ -0,0 +1,238 @@
+package org.home.minesweepergame.service;
+
+/**
+ * Deterministic solver used to vet no-guess boards. It plays a layout from the first click using only
+ * deductions that never need a guess: single-cell rules, subset rules between overlapping numbers and the
+ * global mine count. A layout is no-guess if these rules alone open every safe cell.
+ * <p>
+ * Neighbour counts are kept incrementally and single-cell rules run off a worklist of numbers whose
+ * surroundings changed; the more expensive subset pass only runs when that worklist is exhausted.
+ */
+final class NoGuessSolver {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte OPEN = 1;
+    private static final byte MINE = 2;
+
+    private final MineLayout layout;
+    private final int rows;
+    private final int cols;
+    private final int totalMines;
+    private final byte[] state;
+    private final byte[] unknownAround;   // Unknown neighbours per cell
+    private final byte[] minesAround;     // Deduced mines among the neighbours per cell
+    private final int[] work;             // Open numbers to re-check (ring buffer)
+    private final boolean[] queued;
+    private final int[] stack;            // Flood fill of zero cells
+    private int workHead;
+    private int workSize;
+    private int openCells;
+    private int knownMines;
+
+    private NoGuessSolver(MineLayout layout, int mines) {
+        this.layout = layout;
+        this.rows = layout.getRows();
+        this.cols = layout.getCols();
+        this.totalMines = mines;
+        int cells = rows * cols;
+        this.state = new byte[cells];
+        this.unknownAround = new byte[cells];
+        this.minesAround = new byte[cells];
+        this.work = new int[cells];
+        this.queued = new boolean[cells];
+        this.stack = new int[cells];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int height = Math.min(rows - 1, r + 1) - Math.max(0, r - 1) + 1;
+                int width = Math.min(cols - 1, c + 1) - Math.max(0, c - 1) + 1;
+                unknownAround[r * cols + c] = (byte) (height * width - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the layout can be cleared from (row, col) without ever guessing.
+     */
+    static boolean isSolvable(MineLayout layout, int mines, int row, int col) {
+        return new NoGuessSolver(layout, mines).solve(row, col);
+    }
+
+    private boolean solve(int row, int col) {
+        int safeCells = rows * cols - totalMines;
+        open(row, col);
+        while (openCells < safeCells) {
+            applySingleCellRules();
+            if (openCells == safeCells) break;
+            // Subset and count rules stop at their first deduction so the cheap rules can follow it up
+            if (!applySubsetRules() && !applyMineCount()) {
+                return false; // Stuck: the next move would be a guess
+            }
+        }
+        return true;
+    }
+
+    // A number whose missing mines equal its unknown neighbours flags them all; one with none missing opens them all.
+    private void applySingleCellRules() {
+        while (workSize > 0) {
+            int index = work[workHead];
+            workHead = (workHead + 1) % work.length;
+            workSize--;
+            queued[index] = false;
+            int unknown = unknownAround[index];
+            if (unknown == 0) continue;
+            int missing = missingMines(index);
+            if (missing == 0) {
+                openNeighbours(index / cols, index % cols, -1, -1);
+            } else if (missing == unknown) {
+                flagNeighbours(index / cols, index % cols, -1, -1);
+            }
+        }
+    }
+
+    // If A's unknown neighbours are a subset of B's, the cells only B sees hold exactly B's missing minus A's missing.
+    private boolean applySubsetRules() {
+        for (int a = 0; a < state.length; a++) {
+            if (state[a] != OPEN || unknownAround[a] == 0) continue;
+            int aRow = a / cols;
+            int aCol = a % cols;
+            int aMissing = missingMines(a);
+
+            for (int bRow = Math.max(0, aRow - 2); bRow <= Math.min(rows - 1, aRow + 2); bRow++) {
+                for (int bCol = Math.max(0, aCol - 2); bCol <= Math.min(cols - 1, aCol + 2); bCol++) {
+                    int b = bRow * cols + bCol;
+                    if (b == a || state[b] != OPEN || unknownAround[b] <= unknownAround[a]
+                            || !unknownNeighboursWithin(aRow, aCol, bRow, bCol)) {
+                        continue;
+                    }
+                    int onlyB = unknownAround[b] - unknownAround[a];
+                    int onlyBMines = missingMines(b) - aMissing;
+                    if (onlyBMines == 0) {
+                        openNeighbours(bRow, bCol, aRow, aCol);
+                        return true;
+                    }
+                    if (onlyBMines == onlyB) {
+                        flagNeighbours(bRow, bCol, aRow, aCol);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Once every mine is known the rest is safe; once the unknown cells are all mines they can be flagged.
+    private boolean applyMineCount() {
+        int remaining = totalMines - knownMines;
+        int unknown = state.length - openCells - knownMines;
+        if (unknown == 0 || (remaining != 0 && remaining != unknown)) {
+            return false;
+        }
+        for (int index = 0; index < state.length; index++) {
+            if (state[index] != UNKNOWN) continue;
+            if (remaining == 0) {
+                open(index / cols, index % cols);
+            } else {
+                markMine(index);
+            }
+        }
+        return true;
+    }
+
+    private int missingMines(int index) {
+        return layout.getAdjacentMines(index / cols, index % cols) - minesAround[index];
+    }
+
+    // True if every unknown neighbour of A is also a neighbour of B.
+    private boolean unknownNeighboursWithin(int aRow, int aCol, int bRow, int bCol) {
+        for (int r = Math.max(0, aRow - 1); r <= Math.min(rows - 1, aRow + 1); r++) {
+            for (int c = Math.max(0, aCol - 1); c <= Math.min(cols - 1, aCol + 1); c++) {
+                if (state[r * cols + c] == UNKNOWN && (Math.abs(r - bRow) > 1 || Math.abs(c - bCol) > 1)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Opens the unknown neighbours of (row, col), skipping those that also neighbour (exceptRow, exceptCol).
+    private void openNeighbours(int row, int col, int exceptRow, int exceptCol) {
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                if (state[r * cols + c] == UNKNOWN && !isNeighbour(r, c, exceptRow, exceptCol)) {
+                    open(r, c);
+                }
+            }
+        }
+    }
+
+    private void flagNeighbours(int row, int col, int exceptRow, int exceptCol) {
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                if (state[r * cols + c] == UNKNOWN && !isNeighbour(r, c, exceptRow, exceptCol)) {
+                    markMine(r * cols + c);
+                }
+            }
+        }
+    }
+
+    private static boolean isNeighbour(int row, int col, int otherRow, int otherCol) {
+        return otherRow >= 0 && Math.abs(row - otherRow) <= 1 && Math.abs(col - otherCol) <= 1;
+    }
+
+    // Opens a deduced-safe cell, cascading through zero cells like the real game does.
+    private void open(int row, int col) {
+        int size = 0;
+        settle(row * cols + col, OPEN);
+        stack[size++] = row * cols + col;
+        while (size > 0) {
+            int current = stack[--size];
+            int currentRow = current / cols;
+            int currentCol = current % cols;
+            if (layout.getAdjacentMines(currentRow, currentCol) != 0) {
+                enqueue(current);
+                continue;
+            }
+            for (int r = Math.max(0, currentRow - 1); r <= Math.min(rows - 1, currentRow + 1); r++) {
+                for (int c = Math.max(0, currentCol - 1); c <= Math.min(cols - 1, currentCol + 1); c++) {
+                    if (state[r * cols + c] == UNKNOWN) {
+                        settle(r * cols + c, OPEN);
+                        stack[size++] = r * cols + c;
+                    }
+                }
+            }
+        }
+    }
+
+    private void markMine(int index) {
+        settle(index, MINE);
+    }
+
+    // Records that an unknown cell is now known, and re-queues the open numbers around it.
+    private void settle(int index, byte known) {
+        state[index] = known;
+        if (known == OPEN) {
+            openCells++;
+        } else {
+            knownMines++;
+        }
+        int row = index / cols;
+        int col = index % cols;
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                int neighbour = r * cols + c;
+                if (neighbour == index) continue;
+                unknownAround[neighbour]--;
+                if (known == MINE) minesAround[neighbour]++;
+                if (state[neighbour] == OPEN) enqueue(neighbour);
+            }
+        }
+    }
+
+    private void enqueue(int index) {
+        if (!queued[index]) {
+            queued[index] = true;
+            work[(workHead + workSize) % work.length] = index;
+            workSize++;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.Score;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Every score of one difficulty in ranking order, as an order-statistic treap: each node knows the size of
+ * its subtree, so the rank of a score and the score at a given rank are both found in O(log n).
+ * Reads share a read lock; inserts and rebuilds take the write lock.
+ */
+class ScoreIndex {
+
+    private static final class Node {
+        final Score score;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Score score, int priority) {
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+    private Map<String, Score> byId = new HashMap<>();
+
+    /**
+     * Adds a saved score; a score already in the index is ignored.
+     */
+    void add(Score score) {
+        lock.writeLock().lock();
+        try {
+            if (byId.putIfAbsent(score.getId(), score) == null) {
+                root = insert(root, new Node(score, random.nextInt()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with the database's scores, keeping local scores saved since `since` or still
+     * in `unwritten`, which the query may not have seen. The new tree is built before the write lock is taken.
+     */
+    void rebuild(List<Score> fromDatabase, long since, Set<String> unwritten) {
+        SplittableRandom seeds = new SplittableRandom(); // Its own: `random` is only used under the write lock
+        Node rebuilt = null;
+        Map<String, Score> rebuiltIds = new HashMap<>(fromDatabase.size() * 2);
+        for (Score score : fromDatabase) {
+            if (rebuiltIds.putIfAbsent(score.getId(), score) == null) {
+                rebuilt = insert(rebuilt, new Node(score, seeds.nextInt()));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (Score score : byId.values()) {
+                if ((score.getTimestamp() >= since || unwritten.contains(score.getId())) && rebuiltIds.putIfAbsent(score.getId(), score) == null) {
+                    rebuilt = insert(rebuilt, new Node(score, seeds.nextInt()));
+                }
+            }
+            root = rebuilt;
+            byId = rebuiltIds;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1-based rank of the score with this id, or 0 if it is not in the index.
+     */
+    int rankOf(String scoreId) {
+        lock.readLock().lock();
+        try {
+            Score score = byId.get(scoreId);
+            if (score == null) {
+                return 0;
+            }
+            int before = 0;
+            Node node = root;
+            while (node != null) {
+                int cmp = Leaderboard.RANKING.compare(score, node.score);
+                if (cmp == 0) {
+                    return before + size(node.left) + 1;
+                }
+                if (cmp < 0) {
+                    node = node.left;
+                } else {
+                    before += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to `count` scores in ranking order starting at 1-based rank `fromRank`.
+     */
+    List<Score> page(int fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            List<Score> page = new ArrayList<>(Math.max(0, count));
+            collect(root, fromRank - 1, count, page);
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // In-order walk that skips whole subtrees before the first wanted rank: O(log n + count).
+    private static void collect(Node node, int skip, int count, List<Score> out) {
+        if (node == null || out.size() >= count) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (skip < leftSize) {
+            collect(node.left, skip, count, out);
+        }
+        if (skip <= leftSize && out.size() < count) {
+            out.add(node.score);
+        }
+        collect(node.right, Math.max(0, skip - leftSize - 1), count, out);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (Leaderboard.RANKING.compare(added.score, node.score) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
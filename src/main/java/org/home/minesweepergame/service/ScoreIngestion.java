@@ -0,0 +1,196 @@
+package org.home.minesweepergame.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.home.minesweepergame.model.Score;
+import org.home.minesweepergame.repository.ScoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous score writer. addScore only enqueues the score (its id is assigned in Java, so nothing needs
+ * a database round trip); a single flusher thread drains the queue into multi-row JDBC batch inserts,
+ * flushing when a batch is full or the oldest queued score has waited for the flush delay.
+ * The queue is bounded: when the database cannot keep up, submitters wait briefly and are then rejected.
+ * A batch that fails is retried with backoff, so a database outage turns into backpressure, not lost scores.
+ */
+@Component
+public class ScoreIngestion {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreIngestion.class);
+
+    private static final String INSERT_SQL = "INSERT INTO score (id, game_id, player_name, time_taken, difficulty, timestamp) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000;
+
+    private final ScoreRepository scoreRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameMetrics metrics;
+    private final boolean async;
+    private final int batchSize;
+    private final long flushDelayNanos;
+    private final long submitTimeoutMillis;
+    private final BlockingQueue<Score> queue;
+    private final Thread flusher;
+    // Taken off the queue by the flusher but not written yet; shutdown() writes what is left once the flusher stopped
+    private final List<Score> batch;
+    // Ids of every submitted score not written yet, however long it has been queued
+    private final Set<String> unwritten = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    @Autowired
+    public ScoreIngestion(ScoreRepository scoreRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                          GameMetrics metrics,
+                          @Value("${minesweeper.scores.async:true}") boolean async,
+                          @Value("${minesweeper.scores.queue-capacity:10000}") int queueCapacity,
+                          @Value("${minesweeper.scores.batch-size:200}") int batchSize,
+                          @Value("${minesweeper.scores.flush-delay:PT0.05S}") Duration flushDelay,
+                          @Value("${minesweeper.scores.submit-timeout:PT0.2S}") Duration submitTimeout) {
+        this.scoreRepository = scoreRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.async = async;
+        this.batchSize = batchSize;
+        this.flushDelayNanos = flushDelay.toNanos();
+        this.submitTimeoutMillis = submitTimeout.toMillis();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batch = new ArrayList<>(batchSize);
+        this.flusher = new Thread(this::runFlusher, "score-flusher");
+        flusher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (async) {
+            flusher.start();
+        }
+    }
+
+    /**
+     * Queues a score for insertion, or saves it directly when async ingestion is disabled.
+     * @throws RejectedExecutionException if the queue stays full for the submit timeout.
+     */
+    public void submit(Score score) {
+        if (!async) {
+            long start = System.nanoTime();
+            scoreRepository.save(score);
+            metrics.scoresInserted(1, System.nanoTime() - start);
+            return;
+        }
+        unwritten.add(score.getId()); // Before the offer, so the flusher cannot write it first
+        try {
+            if (!running || !queue.offer(score, submitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                unwritten.remove(score.getId());
+                throw new RejectedExecutionException("Score queue is full, try again shortly.");
+            }
+        } catch (InterruptedException e) {
+            unwritten.remove(score.getId());
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while queueing score.", e);
+        }
+    }
+
+    // Scores queued but not yet written.
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Ids of the scores accepted but not written yet, including the batch being written. A score whose id
+     * is not in the returned set was either written before the call or submitted after it.
+     */
+    public Set<String> unwrittenIds() {
+        return Set.copyOf(unwritten);
+    }
+
+    /**
+     * Stops taking new scores and writes everything still queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        List<Score> rest = new ArrayList<>();
+        if (async && flusher.isAlive()) {
+            flusher.interrupt();
+            flusher.join(10_000);
+            if (flusher.isAlive()) {
+                // Still stuck in a write of its batch; writing the batch here as well would insert it twice
+                log.error("Score flusher did not stop, {} scores may not be written.", batch.size());
+            } else {
+                rest.addAll(batch);
+            }
+        }
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            writeBatch(rest.subList(from, Math.min(rest.size(), from + batchSize)));
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                Score first = queue.take();
+                batch.add(first);
+                // Wait for a full batch, but no longer than the flush delay after the first score arrived
+                long deadline = System.nanoTime() + flushDelayNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) == 0) {
+                        long remaining = deadline - System.nanoTime();
+                        Score next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) break;
+                        batch.add(next);
+                    }
+                }
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return; // The batch is left for shutdown() to write
+            }
+        }
+    }
+
+    private void writeWithRetry(List<Score> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                writeBatch(batch);
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to insert {} scores, retrying in {} ms: {}", batch.size(), backoff, e.toString());
+                Thread.sleep(backoff);
+                backoff = Math.min(MAX_RETRY_BACKOFF_MS, backoff * 2);
+            }
+        }
+    }
+
+    private void writeBatch(List<Score> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Score score : batch) {
+            rows.add(new Object[]{score.getId(), score.getGameId(), score.getPlayerName(), score.getTimeTaken(),
+                    score.getDifficulty().name(), score.getTimestamp()});
+        }
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        metrics.scoresInserted(batch.size(), System.nanoTime() - start);
+        for (Score score : batch) {
+            unwritten.remove(score.getId());
+        }
+    }
+}
@@ -1,25 +1,54 @@
 package org.home.minesweepergame.service;
 
+import org.home.minesweepergame.dtos.LeaderboardPage;
 import org.home.minesweepergame.model.Difficulty;
 import org.home.minesweepergame.model.GameBoard; // To get game details like difficulty and timeTaken
 import org.home.minesweepergame.model.Score;
 import org.home.minesweepergame.repository.ScoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ScoreService {
 
+    private static final Logger log = LoggerFactory.getLogger(ScoreService.class);
+
+    private static final int LEADERBOARD_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Local scores this recent survive a reconcile even if the database query did not see them yet; older
+    // ones survive while they are still queued in ScoreIngestion
+    private static final long RECONCILE_GRACE_MS = 10_000;
+
     private final ScoreRepository scoreRepository;
+    private final ScoreIngestion scoreIngestion;
     private final GameService gameService; // Inject GameService to get game details
+    // Cached top scores per difficulty. Local submissions show up immediately; scores saved by other
+    // instances (or removed from the table) show up at the next reconcile, so the cache is at most one
+    // reconcile interval behind the database.
+    private final Leaderboard leaderboard = new Leaderboard(LEADERBOARD_SIZE);
+    // Every score per difficulty in rank order, for rank/percentile lookups and paging around a player.
+    // Same consistency as the leaderboard, refreshed by a (less frequent) full rebuild.
+    private final Map<Difficulty, ScoreIndex> rankings = new EnumMap<>(Difficulty.class);
 
     @Autowired
-    public ScoreService(ScoreRepository scoreRepository, GameService gameService) {
+    public ScoreService(ScoreRepository scoreRepository, ScoreIngestion scoreIngestion, GameService gameService) {
         this.scoreRepository = scoreRepository;
+        this.scoreIngestion = scoreIngestion;
         this.gameService = gameService;
+        for (Difficulty difficulty : Difficulty.values()) {
+            rankings.put(difficulty, new ScoreIndex());
+        }
     }
 
     /**
@@ -27,14 +56,20 @@ public class ScoreService {
      * Fetches game details (difficulty, timeTaken) from the GameService.
      * @param gameId The ID of the completed game.
      * @param playerName The name of the player.
-     * @return The saved Score object.
+     * The score is queued for a batched insert (see ScoreIngestion) and acknowledged right away.
+     * @return The new Score object, with its rank and percentile among all scores of the difficulty.
      * @throws IllegalArgumentException if the game is not found or not in a 'WON' state.
+     * @throws IllegalStateException if the game was evicted from the active-game store before the score was submitted.
+     * @throws java.util.concurrent.RejectedExecutionException if the score queue is full.
      */
     public Score addScore(String gameId, String playerName) {
         // Retrieve the game details to get difficulty and timeTaken
         GameBoard game = gameService.getGame(gameId); // Get game from activeGames map in GameService
 
         if (game == null) {
+            if (gameService.isGameExpired(gameId)) {
+                throw new IllegalStateException("Game with ID " + gameId + " has expired. Scores must be submitted shortly after the game ends.");
+            }
             throw new IllegalArgumentException("Game with ID " + gameId + " not found.");
         }
         if (game.getStatus() != org.home.minesweepergame.model.GameStatus.WON) {
@@ -49,16 +84,91 @@ public class ScoreService {
                 game.getDifficulty()
         );
 
-        // Save the score to the database
-        return scoreRepository.save(newScore);
+        // Queue the score for the database, then write it through to the cached leaderboard and ranking
+        scoreIngestion.submit(newScore);
+        leaderboard.offer(newScore);
+        ScoreIndex index = rankings.get(newScore.getDifficulty());
+        index.add(newScore);
+        return newScore.withRank(index.rankOf(newScore.getId()), index.size());
+    }
+
+    /**
+     * Returns `size` scores of the full ranking starting at the 1-based rank `fromRank`.
+     */
+    public LeaderboardPage getRankingPage(Difficulty difficulty, int fromRank, int size) {
+        ScoreIndex index = rankings.get(difficulty);
+        int from = Math.max(1, fromRank);
+        return new LeaderboardPage(difficulty, index.size(), from, index.page(from, Math.max(0, Math.min(size, MAX_PAGE_SIZE))));
     }
 
     /**
-     * Retrieves the top scores for a given difficulty.
+     * Returns the scores ranked just above and below the given score, `window` on each side.
+     * @throws IllegalArgumentException if the score is not ranked for this difficulty.
+     */
+    public LeaderboardPage getRankingAround(Difficulty difficulty, String scoreId, int window) {
+        int rank = rankings.get(difficulty).rankOf(scoreId);
+        if (rank == 0) {
+            throw new IllegalArgumentException("Score " + scoreId + " is not ranked for " + difficulty + ".");
+        }
+        int side = Math.max(0, Math.min(window, MAX_PAGE_SIZE / 2));
+        int from = Math.max(1, rank - side);
+        return getRankingPage(difficulty, from, rank + side - from + 1);
+    }
+
+    /**
+     * Retrieves the top scores for a given difficulty from the in-memory leaderboard.
+     * Only the first request for a difficulty that was not loaded at startup reaches the database.
      * @param difficulty The difficulty level to fetch scores for.
      * @return A list of top scores.
      */
     public List<Score> getTopScores(Difficulty difficulty) {
-        return scoreRepository.findTop10ByDifficultyOrderByTimeTakenAscTimestampAsc(difficulty);
+        List<Score> cached = leaderboard.get(difficulty);
+        if (cached != null) {
+            return cached;
+        }
+        reconcile(difficulty);
+        return leaderboard.get(difficulty);
+    }
+
+    /**
+     * Reloads every leaderboard from the database: at startup, then periodically so that scores written
+     * by other instances are picked up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${minesweeper.leaderboard.reconcile-interval:PT30S}",
+            fixedDelayString = "${minesweeper.leaderboard.reconcile-interval:PT30S}")
+    public void reconcileLeaderboards() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            try {
+                reconcile(difficulty);
+            } catch (Exception e) {
+                log.warn("Could not refresh the {} leaderboard: {}", difficulty, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the rank indexes from every stored score: at startup, then periodically to pick up other instances.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${minesweeper.ranking.rebuild-interval:PT15M}",
+            fixedDelayString = "${minesweeper.ranking.rebuild-interval:PT15M}")
+    public void rebuildRankings() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            try {
+                // Taken before the query: a score missing from both was written in time for the query to see it
+                Set<String> unwritten = scoreIngestion.unwrittenIds();
+                long since = System.currentTimeMillis() - RECONCILE_GRACE_MS;
+                rankings.get(difficulty).rebuild(scoreRepository.findByDifficulty(difficulty), since, unwritten);
+            } catch (Exception e) {
+                log.warn("Could not rebuild the {} ranking: {}", difficulty, e.toString());
+            }
+        }
+    }
+
+    private void reconcile(Difficulty difficulty) {
+        Set<String> unwritten = scoreIngestion.unwrittenIds(); // Before the query, as in rebuildRankings
+        long since = System.currentTimeMillis() - RECONCILE_GRACE_MS;
+        leaderboard.replace(difficulty, scoreRepository.findTop10ByDifficultyOrderByTimeTakenAscTimestampAsc(difficulty), since, unwritten);
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package org.home.minesweepergame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedBoardTest {
+
+    @Test
+    void adjacencyCountsMatchTheMinesAroundEachCell() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int round = 0; round < 20; round++) {
+            // Partial chunks on the right and bottom edges as well as whole ones
+            int rows = 1 + random.nextInt(200);
+            int cols = 1 + random.nextInt(200);
+            int mines = random.nextInt(Math.max(1, rows * cols - 9));
+            ChunkedBoard board = new ChunkedBoard("adjacency", rows, cols, mines, random.nextLong());
+            board.start(random.nextInt(rows), random.nextInt(cols));
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int expected = 0;
+                    for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                        for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                            if ((nr != r || nc != c) && board.isMine(nr, nc)) expected++;
+                        }
+                    }
+                    assertEquals(expected, board.getAdjacentMines(r, c), rows + "x" + cols + " at " + r + "," + c);
+                }
+            }
+        }
+    }
+
+    @Test
+    void peekingALostBoardShowsMinesWithoutGeneratingChunks() {
+        ChunkedBoard board = new ChunkedBoard("peek", 500, 500, 25_000, 9L);
+        ChunkedBoard twin = new ChunkedBoard("twin", 500, 500, 25_000, 9L);
+        board.start(0, 0);
+        twin.start(0, 0);
+        board.setStatus(GameStatus.LOST);
+
+        for (int r = 200; r < 456; r++) {
+            for (int c = 100; c < 356; c++) {
+                assertEquals(twin.isMine(r, c) ? -3 : -1, board.peekState(r, c), r + "," + c);
+            }
+        }
+        assertEquals(0, board.getGeneratedChunks());
+        assertEquals(0, board.getMaterializedChunks());
+    }
+}
@@ -0,0 +1,88 @@
+package org.home.minesweepergame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HintEngineTest {
+
+    @Test
+    void incrementalHintsAreSoundAndMatchAFreshEngine() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int round = 0; round < 50; round++) {
+            GameBoard game = randomBoard(random, 30 + random.nextInt(21), 30 + random.nextInt(21));
+            HintEngine incremental = new HintEngine(game.getRows(), game.getCols(), game.getMines());
+            reveal(game, incremental, game.getRows() / 2, game.getCols() / 2);
+
+            // Keep playing proven-safe cells, checking every deduction against the real layout
+            for (int step = 0; step < 20; step++) {
+                incremental.deduce();
+                HintEngine fresh = HintEngine.fromBoard(game);
+                fresh.deduce();
+                int[] next = null;
+                for (int r = 0; r < game.getRows(); r++) {
+                    for (int c = 0; c < game.getCols(); c++) {
+                        assertEquals(fresh.isProvenSafe(r, c), incremental.isProvenSafe(r, c));
+                        assertEquals(fresh.isProvenMine(r, c), incremental.isProvenMine(r, c));
+                        if (incremental.isProvenSafe(r, c)) {
+                            assertFalse(game.isMine(r, c), "cell proven safe is a mine");
+                            if (next == null) next = new int[]{r, c};
+                        }
+                        if (incremental.isProvenMine(r, c)) {
+                            assertTrue(game.isMine(r, c), "cell proven mined is safe");
+                        }
+                    }
+                }
+                if (next == null) break;
+                reveal(game, incremental, next[0], next[1]);
+            }
+        }
+    }
+
+    private static GameBoard randomBoard(SplittableRandom random, int rows, int cols) {
+        int mines = rows * cols / 6;
+        GameBoard game = new GameBoard("test", rows, cols, mines, GameStatus.IN_PROGRESS, Difficulty.CUSTOM);
+        int placed = 0;
+        while (placed < mines) {
+            int r = random.nextInt(rows);
+            int c = random.nextInt(cols);
+            if (!game.isMine(r, c) && (Math.abs(r - rows / 2) > 1 || Math.abs(c - cols / 2) > 1)) {
+                game.setMine(r, c, true);
+                placed++;
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int count = 0;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                        if (game.isMine(nr, nc)) count++;
+                    }
+                }
+                game.setAdjacentMines(r, c, count - (game.isMine(r, c) ? 1 : 0));
+            }
+        }
+        return game;
+    }
+
+    // Reveals like the game does (cascading through zeros) and feeds every opened cell to the engine.
+    private static void reveal(GameBoard game, HintEngine engine, int row, int col) {
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[]{row, col});
+        while (!queue.isEmpty()) {
+            int[] cell = queue.poll();
+            if (game.isRevealed(cell[0], cell[1])) continue;
+            game.setRevealed(cell[0], cell[1], true);
+            engine.onRevealed(cell[0], cell[1], game.getAdjacentMines(cell[0], cell[1]));
+            if (game.getAdjacentMines(cell[0], cell[1]) != 0) continue;
+            for (int r = Math.max(0, cell[0] - 1); r <= Math.min(game.getRows() - 1, cell[0] + 1); r++) {
+                for (int c = Math.max(0, cell[1] - 1); c <= Math.min(game.getCols() - 1, cell[1] + 1); c++) {
+                    queue.add(new int[]{r, c});
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.home.minesweepergame.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterMembershipTest {
+
+    private static final String MEMBERS = "n1=http://localhost:8080,n2=http://localhost:8081/,n3=http://localhost:8082";
+
+    @Test
+    void gamesBelongToTheNodeThatCreatedThem() {
+        ClusterMembership n2 = new ClusterMembership("n2", MEMBERS);
+        String gameId = n2.newGameId();
+
+        assertTrue(gameId.startsWith("n2."));
+        assertTrue(n2.isLocal(gameId));
+        assertEquals("n2", new ClusterMembership("n1", MEMBERS).ownerOf(gameId));
+        assertEquals("http://localhost:8081", n2.urlOf("n2"));
+    }
+
+    @Test
+    void removingANodeOnlyMovesItsGamesAndSpreadsThemEvenly() {
+        ClusterMembership before = new ClusterMembership("n1", MEMBERS);
+        ClusterMembership after = new ClusterMembership("n1", MEMBERS);
+        Map<String, String> remaining = new LinkedHashMap<>(before.getMembers());
+        remaining.remove("n3");
+        after.updateMembers(remaining, false);
+
+        Map<String, Integer> movedTo = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            String gameId = UUID.randomUUID().toString(); // No node prefix: placed by the ring
+            String oldOwner = before.ownerOf(gameId);
+            String newOwner = after.ownerOf(gameId);
+            if (!oldOwner.equals("n3")) {
+                assertEquals(oldOwner, newOwner);
+            } else {
+                movedTo.merge(newOwner, 1, Integer::sum);
+            }
+        }
+        int moved = movedTo.values().stream().mapToInt(Integer::intValue).sum();
+        assertTrue(moved > 8_000 && moved < 12_000, "n3 held " + moved + " of 30000 games");
+        assertTrue(Math.abs(movedTo.get("n1") - movedTo.get("n2")) < moved / 4, "Uneven hand-off: " + movedTo);
+        assertNotEquals("n3", after.ownerOf("n3." + UUID.randomUUID()));
+    }
+
+    @Test
+    void withoutMembersEveryGameIsLocal() {
+        ClusterMembership single = new ClusterMembership("", "");
+        String gameId = single.newGameId();
+
+        assertFalse(single.isEnabled());
+        assertDoesNotThrow(() -> UUID.fromString(gameId));
+        assertTrue(single.isLocal("n2." + UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class, () -> new ClusterMembership("n4", MEMBERS));
+    }
+
+    @Test
+    void memberListUpdatesAreChecked() {
+        ClusterMembership n1 = new ClusterMembership("n1", MEMBERS);
+        Map<String, String> withoutSelf = new LinkedHashMap<>(n1.getMembers());
+        withoutSelf.remove("n1");
+
+        assertThrows(IllegalArgumentException.class, () -> n1.updateMembers(Map.of("n1", "http://localhost:8080", "n2", "file:///etc/passwd"), false));
+        assertThrows(IllegalArgumentException.class, () -> n1.updateMembers(Map.of("n1", "http://localhost:8080", "n2", "http://evil/x?y"), false));
+        assertThrows(IllegalArgumentException.class, () -> n1.updateMembers(withoutSelf, false));
+        assertEquals(3, n1.getMembers().size()); // Rejected updates change nothing
+
+        n1.updateMembers(withoutSelf, true); // Draining on purpose
+        assertFalse(n1.isLocal("n1." + UUID.randomUUID()));
+        assertThrows(IllegalStateException.class, () -> new ClusterMembership("", "").updateMembers(Map.of("n1", "http://localhost:8080"), false));
+    }
+}
@@ -0,0 +1,105 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloodFillTest {
+
+    @Test
+    void opensTheSameCellsInTheSameOrderAsAQueueOfNeighbours() {
+        SplittableRandom random = new SplittableRandom(17);
+        FloodFill floodFill = new FloodFill(); // Reused across boards of every size, like the per-thread instance
+        int fills = 0;
+        for (int round = 0; round < 2_000; round++) {
+            int rows = 5 + random.nextInt(46);
+            int cols = 5 + random.nextInt(46);
+            int mines = 1 + random.nextInt(rows * cols / (2 + random.nextInt(20)));
+            MineLayout layout = MineLayout.forFirstClick(rows, cols, mines, random.nextInt(rows), random.nextInt(cols), random.nextLong());
+            GameBoard expected = board(layout, mines);
+            // Flags and earlier openings for the fill to stop at or skip
+            for (int i = random.nextInt(rows * cols / 10 + 1); i > 0; i--) {
+                int r = random.nextInt(rows), c = random.nextInt(cols);
+                if (random.nextBoolean()) expected.setFlagged(r, c, true);
+                else if (!expected.isMine(r, c)) expected.setRevealed(r, c, true);
+            }
+            GameBoard actual = board(layout, mines);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    actual.setFlagged(r, c, expected.isFlagged(r, c));
+                    actual.setRevealed(r, c, expected.isRevealed(r, c));
+                }
+            }
+
+            for (int start = 0; start < rows * cols; start++) {
+                int r = start / cols, c = start % cols;
+                if (!expected.isMine(r, c) && expected.getAdjacentMines(r, c) == 0 && !expected.isFlagged(r, c)
+                        && !expected.isRevealed(r, c)) {
+                    expected.setRevealed(r, c, true);
+                    actual.setRevealed(r, c, true);
+                    List<Integer> expectedOrder = new ArrayList<>();
+                    List<Integer> actualOrder = new ArrayList<>();
+                    int expectedOpened = referenceFill(expected, r, c, expectedOrder);
+                    int actualOpened = floodFill.fill(actual, r, c, (openedRow, openedCol) -> actualOrder.add(openedRow * cols + openedCol));
+
+                    assertEquals(expectedOpened, actualOpened);
+                    assertEquals(expectedOrder, actualOrder);
+                    assertArrayEquals(expected.copyCells(), actual.copyCells());
+                    assertEquals(expected.getRevealedSafeCells(), actual.getRevealedSafeCells());
+                    fills++;
+                    if (random.nextInt(3) > 0) break; // Sometimes keep filling the remaining regions of the board
+                }
+            }
+        }
+        assertTrue(fills > 1_000, "only " + fills + " fills");
+    }
+
+    // The breadth-first fill GameService used before FloodFill: a queue of indices and bounds checks on every neighbour.
+    private static int referenceFill(GameBoard game, int row, int col, List<Integer> order) {
+        int cols = game.getCols();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(row * cols + col);
+        int opened = 0;
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            int currentRow = current / cols;
+            int currentCol = current % cols;
+            for (int rOffset = -1; rOffset <= 1; rOffset++) {
+                for (int cOffset = -1; cOffset <= 1; cOffset++) {
+                    if (rOffset == 0 && cOffset == 0) continue;
+                    int nRow = currentRow + rOffset;
+                    int nCol = currentCol + cOffset;
+                    if (nRow >= 0 && nRow < game.getRows() && nCol >= 0 && nCol < cols
+                            && !game.isRevealed(nRow, nCol) && !game.isFlagged(nRow, nCol)) {
+                        game.setRevealed(nRow, nCol, true);
+                        order.add(nRow * cols + nCol);
+                        opened++;
+                        if (game.getAdjacentMines(nRow, nCol) == 0) {
+                            queue.add(nRow * cols + nCol);
+                        }
+                    }
+                }
+            }
+        }
+        return opened;
+    }
+
+    private static GameBoard board(MineLayout layout, int mines) {
+        GameBoard game = new GameBoard("fill", layout.getRows(), layout.getCols(), mines, GameStatus.IN_PROGRESS, Difficulty.CUSTOM);
+        for (int r = 0; r < layout.getRows(); r++) {
+            for (int c = 0; c < layout.getCols(); c++) {
+                game.setMine(r, c, layout.isMine(r, c));
+                game.setAdjacentMines(r, c, layout.getAdjacentMines(r, c));
+            }
+        }
+        return game;
+    }
+}
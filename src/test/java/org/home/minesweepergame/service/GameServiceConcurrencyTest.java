@@ -0,0 +1,204 @@
+package org.home.minesweepergame.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.home.minesweepergame.dtos.GameCreationRequest;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Stress tests for per-game serialization of GameService mutations.
+class GameServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private final GameLocks gameLocks = new GameLocks();
+    private final GamePersistence persistence = new GamePersistence(null, null, null, gameLocks, false, 500); // In-memory only
+    private final GameStore gameStore = new GameStore(gameLocks, persistence, 100_000, 512, Duration.ofMinutes(30), Duration.ofMinutes(10));
+    private final GameService gameService = new GameService(gameStore, gameLocks, persistence,
+            new GameEventPublisher(), new BoardPool(0), // Pool disabled: layouts are generated inline
+            new NoGuessGenerator(Duration.ofMillis(100), 1), new GameMetrics(new SimpleMeterRegistry(), gameStore),
+            new GameEventLog(0.0), new ClusterMembership("", ""), // Event log off
+            new MoveJournal(persistence, false, "", DataSize.ofMegabytes(1), Duration.ZERO, false)); // Journal off
+
+    @Test
+    void concurrentFirstClicksPlaceMinesExactlyOnce() throws Exception {
+        for (int round = 0; round < 100; round++) {
+            GameBoard game = createGame(Difficulty.HARD);
+            int[][] clicks = {{0, 0}, {0, 29}, {15, 0}, {15, 29}, {8, 15}, {0, 15}, {15, 15}, {8, 0}};
+
+            runConcurrently(THREADS, t -> gameService.revealCell(game.getGameId(), clicks[t][0], clicks[t][1]));
+
+            int minesOnBoard = 0;
+            int revealedSafe = 0;
+            for (int r = 0; r < game.getRows(); r++) {
+                for (int c = 0; c < game.getCols(); c++) {
+                    if (game.isMine(r, c)) minesOnBoard++;
+                    else if (game.isRevealed(r, c)) revealedSafe++;
+                }
+            }
+            assertEquals(game.getMines(), minesOnBoard, "mines must be placed by exactly one first click");
+            assertEquals(revealedSafe, game.getRevealedSafeCells(), "revealed counter must match the board");
+        }
+    }
+
+    @Test
+    void concurrentFlagTogglesAreNotLost() throws Exception {
+        GameBoard game = createGame(Difficulty.HARD);
+        gameService.revealCell(game.getGameId(), 8, 15);
+        long baseVersion = game.getVersion();
+
+        List<int[]> hidden = new ArrayList<>();
+        for (int r = 0; r < game.getRows(); r++) {
+            for (int c = 0; c < game.getCols(); c++) {
+                if (!game.isRevealed(r, c)) hidden.add(new int[]{r, c});
+            }
+        }
+
+        runConcurrently(THREADS, t -> {
+            for (int i = t; i < hidden.size(); i += THREADS) {
+                gameService.flagCell(game.getGameId(), hidden.get(i)[0], hidden.get(i)[1]);
+            }
+        });
+
+        for (int[] cell : hidden) {
+            assertTrue(game.isFlagged(cell[0], cell[1]), "flag toggle lost at " + cell[0] + "," + cell[1]);
+        }
+        assertEquals(baseVersion + hidden.size(), game.getVersion());
+    }
+
+    @Test
+    void concurrentRevealsReachWinExactlyOnce() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            GameBoard game = createGame(Difficulty.MEDIUM);
+            gameService.revealCell(game.getGameId(), 8, 8);
+
+            runConcurrently(THREADS, t -> {
+                for (int r = 0; r < game.getRows(); r++) {
+                    for (int c = (r + t) % THREADS; c < game.getCols(); c += THREADS) {
+                        if (!game.isMine(r, c)) gameService.revealCell(game.getGameId(), r, c);
+                    }
+                }
+            });
+
+            assertEquals(GameStatus.WON, game.getStatus());
+            assertEquals(game.getSafeCellCount(), game.getRevealedSafeCells());
+        }
+    }
+
+    @Test
+    void togglesOnSeparateGamesRunInParallelWithoutInterference() throws Exception {
+        int togglesPerGame = 10_001; // Odd, so every flag ends up set
+        GameBoard[] games = new GameBoard[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            GameCreationRequest request = new GameCreationRequest();
+            request.setDifficulty(Difficulty.EASY);
+            request.setSeed(42L + t); // Seeded, so no first click happens to win the game outright
+            games[t] = gameService.createGame(request);
+            gameService.revealCell(games[t].getGameId(), 4, 4);
+            assertEquals(GameStatus.IN_PROGRESS, games[t].getStatus());
+        }
+        long[] baseVersions = new long[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            baseVersions[t] = games[t].getVersion();
+        }
+
+        // Each thread toggles a flag on its own game, so only the per-game locks are exercised
+        runConcurrently(THREADS, t -> {
+            GameBoard game = games[t];
+            int[] cell = hiddenCell(game);
+            for (int i = 0; i < togglesPerGame; i++) {
+                gameService.flagCell(game.getGameId(), cell[0], cell[1]);
+            }
+        });
+
+        for (int t = 0; t < THREADS; t++) {
+            int[] cell = hiddenCell(games[t]);
+            assertTrue(games[t].isFlagged(cell[0], cell[1]));
+            assertEquals(baseVersions[t] + togglesPerGame, games[t].getVersion());
+        }
+    }
+
+    @Test
+    void outOfRangeFirstRevealLeavesTheGameUnstarted() {
+        GameBoard game = createGame(Difficulty.EASY);
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.revealCell(game.getGameId(), 9, 0));
+
+        assertEquals(GameStatus.NOT_STARTED, game.getStatus());
+        assertEquals(0, game.getVersion());
+    }
+
+    @Test
+    void autoSolveStopsWhenTheGameIsDroppedMidway() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            GameBoard game = createGame(Difficulty.HARD);
+            gameService.revealCell(game.getGameId(), 8, 15);
+
+            // One thread solves while the other drops the board, as a hand-off does
+            runConcurrently(2, t -> {
+                if (t == 0) gameService.autoSolve(game.getGameId());
+                else gameStore.drop(game);
+            });
+
+            assertNull(gameService.autoSolve(game.getGameId()));
+        }
+    }
+
+    private static int[] hiddenCell(GameBoard game) {
+        for (int r = 0; r < game.getRows(); r++) {
+            for (int c = 0; c < game.getCols(); c++) {
+                if (!game.isRevealed(r, c)) return new int[]{r, c};
+            }
+        }
+        throw new IllegalStateException("No hidden cell left");
+    }
+
+    private GameBoard createGame(Difficulty difficulty) {
+        GameCreationRequest request = new GameCreationRequest();
+        request.setDifficulty(difficulty);
+        return gameService.createGame(request);
+    }
+
+    private interface Task {
+        void run(int threadIndex);
+    }
+
+    // Starts all tasks behind a latch so they hit the service at the same moment.
+    private static void runConcurrently(int threads, Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
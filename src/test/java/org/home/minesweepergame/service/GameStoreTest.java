@@ -0,0 +1,109 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameStoreTest {
+
+    private final GameLocks gameLocks = new GameLocks();
+    private final GamePersistence persistence = new GamePersistence(null, null, null, gameLocks, true, 500); // Never flushed
+
+    @Test
+    void entryBudgetEvictsFinishedGamesFirst() {
+        GameStore store = new GameStore(gameLocks, persistence, 10, 512, Duration.ofMinutes(30), Duration.ofMinutes(10));
+        GameBoard finished = newGame(GameStatus.WON);
+        store.put(finished);
+        GameBoard[] live = new GameBoard[10];
+        for (int i = 0; i < live.length; i++) {
+            if (i == live.length - 1) {
+                sleepPastMillisecondBoundary(); // The newest game must not tie with the others for least recently used
+            }
+            live[i] = newGame(GameStatus.IN_PROGRESS);
+            store.put(live[i]);
+        }
+
+        assertNull(store.get(finished.getGameId()));
+        assertTrue(store.wasEvicted(finished.getGameId()));
+        assertNotNull(store.get(live[live.length - 1].getGameId()));
+        assertTrue(store.size() <= 10);
+        assertTrue(store.getStats().getCapacityEvictions() >= 1);
+    }
+
+    @Test
+    void finishedGamesExpireAfterScoreWindow() {
+        GameStore store = new GameStore(gameLocks, persistence, 100, 512, Duration.ofMinutes(30), Duration.ZERO);
+        GameBoard finished = newGame(GameStatus.LOST);
+        GameBoard playing = newGame(GameStatus.IN_PROGRESS);
+        store.put(finished);
+        store.put(playing);
+
+        sleepPastMillisecondBoundary();
+        store.evictExpired();
+
+        assertNull(store.get(finished.getGameId()));
+        assertNotNull(store.get(playing.getGameId()));
+        assertEquals(1, store.getStats().getFinishedEvictions());
+        assertFalse(store.wasEvicted(playing.getGameId()));
+    }
+
+    @Test
+    void unflushedAndLockedGamesAreNotEvicted() throws Exception {
+        GameStore store = new GameStore(gameLocks, persistence, 100, 512, Duration.ZERO, Duration.ZERO);
+        GameBoard unflushed = newGame(GameStatus.IN_PROGRESS);
+        GameBoard inUse = newGame(GameStatus.IN_PROGRESS);
+        GameBoard idle = newGame(GameStatus.IN_PROGRESS);
+        while (gameLocks.forGame(idle.getGameId()) == gameLocks.forGame(inUse.getGameId())) {
+            idle = newGame(GameStatus.IN_PROGRESS); // On its own lock stripe
+        }
+        store.put(unflushed);
+        store.put(inUse);
+        store.put(idle);
+        persistence.markDirty(unflushed);
+
+        Thread actor = new Thread(gameLocks.forGame(inUse.getGameId())::lock); // Never unlocks, like an action still running
+        actor.start();
+        actor.join();
+        sleepPastMillisecondBoundary();
+        store.evictExpired();
+
+        assertTrue(store.holds(unflushed));
+        assertTrue(store.holds(inUse));
+        assertFalse(store.holds(idle));
+        assertTrue(store.wasEvicted(idle.getGameId()));
+    }
+
+    @Test
+    void aReloadOfAnUnflushedGameGetsTheInMemoryBoard() {
+        GameBoard playing = newGame(GameStatus.IN_PROGRESS);
+        GameBoard lost = newGame(GameStatus.LOST);
+        persistence.markDirty(playing);
+        persistence.markDirty(lost);
+
+        assertSame(playing, persistence.loadActive(playing.getGameId())); // No repository: a database read would fail
+        assertNull(persistence.loadActive(lost.getGameId()));
+    }
+
+    private static GameBoard newGame(GameStatus status) {
+        return new GameBoard(UUID.randomUUID().toString(), 9, 9, 10, status, Difficulty.EASY);
+    }
+
+    private static void sleepPastMillisecondBoundary() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.dtos.LargeGameCreationRequest;
+import org.home.minesweepergame.dtos.LargeGameState;
+import org.home.minesweepergame.dtos.ViewportResponse;
+import org.home.minesweepergame.model.ChunkedBoard;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LargeGameServiceTest {
+
+    @Test
+    void floodFillOpensTheSameCellsAsAFillOverTheWholeBoard() {
+        int size = 300;
+        int mines = 900;
+        long seed = 7L;
+        LargeGameService service = new LargeGameService(new ClusterMembership("", ""), 100, 1024, Duration.ofHours(1));
+        String gameId = service.createGame(request(size, size, mines, seed)).getGameId();
+        LargeGameState state = service.revealCell(gameId, size / 2, size / 2);
+
+        // The same layout, opened by a plain fill over a whole-board array of counts
+        ChunkedBoard twin = new ChunkedBoard("twin", size, size, mines, seed);
+        twin.start(size / 2, size / 2);
+        boolean[] revealed = referenceFill(twin, size / 2, size / 2);
+        int opened = 0;
+        for (boolean cell : revealed) {
+            if (cell) opened++;
+        }
+        assertTrue(state.getMaterializedChunks() > 1, "the opening must cross chunk borders");
+        assertEquals(opened, state.getRevealedSafeCells());
+
+        for (int top = 0; top < size; top += 256) {
+            for (int left = 0; left < size; left += 256) {
+                ViewportResponse viewport = service.getViewport(gameId, top, left, 256, 256);
+                for (int r = 0; r < viewport.getHeight(); r++) {
+                    String line = viewport.getCells().get(r);
+                    for (int c = 0; c < viewport.getWidth(); c++) {
+                        int row = top + r, col = left + c;
+                        char expected = revealed[row * size + col] ? (char) ('0' + adjacentMines(twin, row, col)) : '#';
+                        assertEquals(expected, line.charAt(c), row + "," + col);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void gamesReserveTheirFullSizeAgainstTheMemoryBudget() {
+        LargeGameService service = new LargeGameService(new ClusterMembership("", ""), 100, 20, Duration.ofHours(1)); // One 4000x4000 board is ~19 MB
+        service.createGame(request(4000, 4000, 1000, 1L));
+
+        assertThrows(IllegalStateException.class, () -> service.createGame(request(4000, 4000, 1000, 2L)));
+        assertNotNull(service.createGame(request(100, 100, 100, 3L))); // Small boards still fit
+    }
+
+    private static boolean[] referenceFill(ChunkedBoard board, int row, int col) {
+        int rows = board.getRows(), cols = board.getCols();
+        boolean[] revealed = new boolean[rows * cols];
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        revealed[row * cols + col] = true;
+        queue.add(new int[]{row, col});
+        while (!queue.isEmpty()) {
+            int[] cell = queue.poll();
+            if (adjacentMines(board, cell[0], cell[1]) != 0) continue;
+            for (int r = cell[0] - 1; r <= cell[0] + 1; r++) {
+                for (int c = cell[1] - 1; c <= cell[1] + 1; c++) {
+                    if (board.isInside(r, c) && !revealed[r * cols + c]) {
+                        revealed[r * cols + c] = true;
+                        queue.add(new int[]{r, c});
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+
+    private static int adjacentMines(ChunkedBoard board, int row, int col) {
+        int count = 0;
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = col - 1; c <= col + 1; c++) {
+                if ((r != row || c != col) && board.isInside(r, c) && board.isMine(r, c)) count++;
+            }
+        }
+        return count;
+    }
+
+    private static LargeGameCreationRequest request(int rows, int cols, int mines, long seed) {
+        LargeGameCreationRequest request = new LargeGameCreationRequest();
+        request.setRows(rows);
+        request.setCols(cols);
+        request.setMines(mines);
+        request.setSeed(seed);
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.Score;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    void offerKeepsTheFastestScoresInOrder() {
+        Leaderboard leaderboard = new Leaderboard(3);
+        leaderboard.replace(Difficulty.EASY, List.of(score("a", 5_000, 1), score("b", 7_000, 2), score("c", 9_000, 3)), 0, Set.of());
+
+        leaderboard.offer(score("d", 6_000, 4));
+        leaderboard.offer(score("e", 10_000, 5)); // Too slow to qualify
+
+        assertEquals(List.of("a", "d", "b"), ids(leaderboard.get(Difficulty.EASY)));
+        assertNull(leaderboard.get(Difficulty.HARD)); // Not loaded yet
+    }
+
+    @Test
+    void reconcileKeepsRecentLocalScoresTheDatabaseDidNotReturn() {
+        Leaderboard leaderboard = new Leaderboard(3);
+        leaderboard.replace(Difficulty.EASY, List.of(score("old", 8_000, 100)), 0, Set.of());
+        leaderboard.offer(score("recent", 4_000, 2_000));
+
+        // The database no longer has "old" and has not caught up with "recent" yet
+        leaderboard.replace(Difficulty.EASY, List.of(score("remote", 6_000, 1_500)), 1_000, Set.of());
+
+        assertEquals(List.of("recent", "remote"), ids(leaderboard.get(Difficulty.EASY)));
+    }
+
+    @Test
+    void reconcileKeepsLocalScoresThatAreStillQueued() {
+        Leaderboard leaderboard = new Leaderboard(3);
+        leaderboard.replace(Difficulty.EASY, List.of(), 0, Set.of());
+        leaderboard.offer(score("queued", 4_000, 100));
+        leaderboard.offer(score("written", 5_000, 100));
+
+        // Both are older than the grace period; only "queued" has not reached the database yet
+        leaderboard.replace(Difficulty.EASY, List.of(), 1_000, Set.of("queued"));
+
+        assertEquals(List.of("queued"), ids(leaderboard.get(Difficulty.EASY)));
+    }
+
+    private static Score score(String id, long timeTaken, long timestamp) {
+        Score score = new Score("game-" + id, id, timeTaken, Difficulty.EASY);
+        score.setId(id);
+        score.setTimestamp(timestamp);
+        return score;
+    }
+
+    private static List<String> ids(List<Score> scores) {
+        return scores.stream().map(Score::getId).toList();
+    }
+}
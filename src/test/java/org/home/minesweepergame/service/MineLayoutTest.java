@@ -0,0 +1,103 @@
+package org.home.minesweepergame.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MineLayoutTest {
+
+    @Test
+    void sameSeedAndFirstClickGiveTheSameLayout() {
+        int[] first = MineLayout.place(16, 30, 99, 7, 12, 42L);
+        int[] second = MineLayout.place(16, 30, 99, 7, 12, 42L);
+        int[] otherSeed = MineLayout.place(16, 30, 99, 7, 12, 43L);
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, otherSeed));
+    }
+
+    @Test
+    void fillsDenseBoardsWithDistinctMinesOutsideTheSafeArea() {
+        // 50x50 at the 50% cap, first click in a corner so the safe area is clipped to 2x2
+        int[] mines = MineLayout.place(50, 50, 1250, 0, 0, 7L);
+
+        Set<Integer> distinct = new HashSet<>();
+        for (int index : mines) {
+            assertTrue(index >= 0 && index < 2500);
+            assertFalse(index / 50 <= 1 && index % 50 <= 1, "mine inside the safe area: " + index);
+            distinct.add(index);
+        }
+        assertEquals(1250, distinct.size());
+    }
+
+    @Test
+    void layoutsHoldThePlacedMinesAndCountRealNeighbours() {
+        int rows = 16, cols = 30;
+        int[][] clicks = {{0, 0}, {15, 29}, {0, 17}, {8, 15}, {3, 28}};
+        for (int[] click : clicks) {
+            MineLayout layout = MineLayout.forFirstClick(rows, cols, 99, click[0], click[1], 11L);
+            Set<Integer> placed = new HashSet<>();
+            for (int index : MineLayout.place(rows, cols, 99, click[0], click[1], 11L)) {
+                placed.add(index);
+            }
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    assertEquals(placed.contains(r * cols + c), layout.isMine(r, c), "mine at " + r + "," + c);
+                    int expected = 0;
+                    for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                        for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                            if ((nr != r || nc != c) && layout.isMine(nr, nc)) expected++;
+                        }
+                    }
+                    assertEquals(expected, layout.getAdjacentMines(r, c), "adjacency at " + r + "," + c);
+                }
+            }
+        }
+    }
+
+    @Test
+    void preparedLayoutsMatchInlineOnesForEveryClick() {
+        int[][] sizes = {{9, 9, 10}, {16, 16, 40}, {16, 30, 99}};
+        for (int[] size : sizes) {
+            MineLayout.Prepared prepared = MineLayout.prepare(size[0], size[1], size[2], 5L);
+            for (int r = 0; r < size[0]; r++) {
+                for (int c = 0; c < size[1]; c++) {
+                    MineLayout pooled = prepared.forFirstClick(r, c);
+                    MineLayout inline = MineLayout.forFirstClick(size[0], size[1], size[2], r, c, 5L);
+                    for (int nr = 0; nr < size[0]; nr++) {
+                        for (int nc = 0; nc < size[1]; nc++) {
+                            assertEquals(inline.isMine(nr, nc), pooled.isMine(nr, nc));
+                            assertEquals(inline.getAdjacentMines(nr, nc), pooled.getAdjacentMines(nr, nc));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rowBitmapCountsMatchCountingAroundEachMine() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 2_000; round++) {
+            int rows = 1 + random.nextInt(40);
+            int cols = 1 + random.nextInt(64); // Up to a full long
+            boolean[] mineCells = new boolean[rows * cols];
+            int[] placed = random.ints(random.nextInt(rows * cols + 1), 0, rows * cols).distinct().toArray();
+            for (int index : placed) {
+                mineCells[index] = true;
+            }
+            assertArrayEquals(MineLayout.countByMines(rows, cols, mineCells), MineLayout.countByRows(rows, cols, placed),
+                    rows + "x" + cols);
+        }
+    }
+
+    @Test
+    void rejectsMoreMinesThanFreeCells() {
+        assertThrows(IllegalArgumentException.class, () -> MineLayout.place(5, 5, 17, 2, 2, 1L));
+    }
+}
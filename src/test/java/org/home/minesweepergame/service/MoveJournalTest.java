@@ -0,0 +1,210 @@
+package org.home.minesweepergame.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.home.minesweepergame.dtos.GameActionRequest;
+import org.home.minesweepergame.dtos.GameCreationRequest;
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.GameBoard;
+import org.home.minesweepergame.model.GameStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayRebuildsEveryGameExactly() {
+        MoveJournal journal = journal(DataSize.ofKilobytes(64)); // Small segments: the games span several
+        GameService before = service(journal);
+        SplittableRandom random = new SplittableRandom(11);
+        List<GameBoard> games = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            GameCreationRequest request = new GameCreationRequest();
+            request.setDifficulty(Difficulty.values()[i % 3]);
+            request.setNoGuess(i % 5 == 0);
+            GameBoard game = before.createGame(request);
+            games.add(game);
+            if (i % 10 == 9) {
+                continue; // Never clicked
+            }
+            String id = game.getGameId();
+            before.revealCell(id, random.nextInt(game.getRows()), random.nextInt(game.getCols()));
+            if (i % 4 == 0) {
+                before.autoSolve(id); // Many single moves, often up to a win
+            }
+            for (int move = 0; move < 40 && game.getStatus() == GameStatus.IN_PROGRESS; move++) {
+                int row = random.nextInt(game.getRows());
+                int col = random.nextInt(game.getCols());
+                switch (random.nextInt(4)) {
+                    case 0 -> before.flagCell(id, row, col);
+                    case 1 -> before.chordClick(id, row, col);
+                    case 2 -> before.applyActions(id, List.of(
+                            new GameActionRequest(GameActionRequest.Type.FLAG, row, col),
+                            new GameActionRequest(GameActionRequest.Type.REVEAL, random.nextInt(game.getRows()), col)), null);
+                    default -> {
+                        if (!game.isMine(row, col) || random.nextInt(10) == 0) before.revealCell(id, row, col);
+                    }
+                }
+            }
+        }
+
+        // No close(): the new journal reads the segments the crashed one left behind
+        GameService after = service(journal(DataSize.ofKilobytes(64)));
+        after.recoverFromJournal();
+        for (GameBoard expected : games) {
+            GameBoard actual = after.getGame(expected.getGameId());
+            assertNotNull(actual, expected.getGameId());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getVersion(), actual.getVersion());
+            assertArrayEquals(expected.copyCells(), actual.copyCells());
+            assertEquals(expected.getSeed(), actual.getSeed());
+            assertEquals(expected.getStartTime(), actual.getStartTime());
+            assertEquals(expected.getTimeTaken(), actual.getTimeTaken());
+        }
+        assertTrue(games.stream().anyMatch(game -> game.getStatus() == GameStatus.WON));
+    }
+
+    @Test
+    void aTornLastRecordIsDropped() throws Exception {
+        MoveJournal journal = journal(DataSize.ofMegabytes(1));
+        GameService before = service(journal);
+        GameCreationRequest request = new GameCreationRequest();
+        request.setDifficulty(Difficulty.HARD);
+        request.setSeed(5L);
+        GameBoard game = before.createGame(request);
+        before.revealCell(game.getGameId(), 8, 15);
+        long versionBeforeFlag = game.getVersion();
+        long lastRecord = journal.getWrittenBytes();
+        before.flagCell(game.getGameId(), 0, 0);
+        journal.close();
+        try (RandomAccessFile segment = new RandomAccessFile(directory.resolve("moves-0000000000000001.journal").toFile(), "rw")) {
+            segment.seek(lastRecord + 20); // Inside the flag's record body: its checksum no longer matches
+            segment.write(segment.read() ^ 0xFF);
+        }
+
+        GameService after = service(journal(DataSize.ofMegabytes(1)));
+        after.recoverFromJournal();
+        GameBoard recovered = after.getGame(game.getGameId());
+        assertEquals(versionBeforeFlag, recovered.getVersion());
+        assertFalse(recovered.isFlagged(0, 0));
+        assertEquals(GameStatus.IN_PROGRESS, recovered.getStatus());
+    }
+
+    @Test
+    void replayedMovesAreNotCountedAgain() {
+        GameService before = service(journal(DataSize.ofMegabytes(1)));
+        GameCreationRequest request = new GameCreationRequest();
+        request.setDifficulty(Difficulty.HARD);
+        request.setSeed(5L);
+        GameBoard game = before.createGame(request);
+        before.revealCell(game.getGameId(), 8, 15);
+        int[] mine = mineOf(game);
+        before.revealCell(game.getGameId(), mine[0], mine[1]);
+        assertEquals(GameStatus.LOST, game.getStatus());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameService after = service(journal(DataSize.ofMegabytes(1)), registry);
+        after.recoverFromJournal();
+        assertEquals(GameStatus.LOST, after.getGame(game.getGameId()).getStatus());
+        assertEquals(0.0, registry.get("minesweeper.games.finished").counters().stream().mapToDouble(c -> c.count()).sum());
+        assertEquals(0, registry.get("minesweeper.floodfill.cells").summary().count());
+    }
+
+    @Test
+    void compactionKeepsSegmentsWhileAFlushIsStillWriting() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Stands in for the database: each transaction waits for the test before it commits
+        TransactionTemplate transactions = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return action.doInTransaction(null);
+            }
+        };
+        JdbcTemplate jdbc = new JdbcTemplate() {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                int[] updated = new int[batchArgs.size()];
+                Arrays.fill(updated, 1);
+                return updated;
+            }
+        };
+        GameLocks gameLocks = new GameLocks();
+        GamePersistence persistence = new GamePersistence(null, jdbc, transactions, gameLocks, true, 500);
+        MoveJournal journal = new MoveJournal(persistence, true, directory.toString(), DataSize.ofMegabytes(1),
+                Duration.ofMillis(10), false);
+        GameBoard game = new GameBoard(UUID.randomUUID().toString(), 9, 9, 10, GameStatus.NOT_STARTED, Difficulty.EASY);
+        persistence.markDirty(game);
+        journal.appendCreate(game);
+        Path firstSegment = directory.resolve("moves-0000000000000001.journal");
+
+        Thread flush = new Thread(persistence::flush); // Takes the game out of the dirty map, then blocks
+        flush.start();
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        Thread compaction = new Thread(journal::compact);
+        compaction.start();
+        compaction.join(200);
+
+        assertTrue(Files.exists(firstSegment), "the create record is not in the database yet");
+        release.countDown();
+        flush.join(10_000);
+        compaction.join(10_000);
+        assertFalse(compaction.isAlive());
+        assertFalse(Files.exists(firstSegment));
+        journal.close();
+    }
+
+    private static int[] mineOf(GameBoard game) {
+        for (int r = 0; r < game.getRows(); r++) {
+            for (int c = 0; c < game.getCols(); c++) {
+                if (game.isMine(r, c)) return new int[]{r, c};
+            }
+        }
+        throw new IllegalStateException("No mine on the board");
+    }
+
+    private MoveJournal journal(DataSize segmentSize) {
+        GameLocks gameLocks = new GameLocks();
+        return new MoveJournal(new GamePersistence(null, null, null, gameLocks, false, 500), // Journal only: no database snapshot
+                true, directory.toString(), segmentSize, Duration.ofMillis(10), false);
+    }
+
+    private static GameService service(MoveJournal journal) {
+        return service(journal, new SimpleMeterRegistry());
+    }
+
+    private static GameService service(MoveJournal journal, SimpleMeterRegistry registry) {
+        GameLocks gameLocks = new GameLocks();
+        GamePersistence persistence = new GamePersistence(null, null, null, gameLocks, false, 500);
+        GameStore store = new GameStore(gameLocks, persistence, 10_000, 512, Duration.ofHours(1), Duration.ofHours(1));
+        return new GameService(store, gameLocks, persistence,
+                new GameEventPublisher(), new BoardPool(0), new NoGuessGenerator(Duration.ofMillis(100), 1),
+                new GameMetrics(registry, store), new GameEventLog(0.0), new ClusterMembership("", ""), journal);
+    }
+}
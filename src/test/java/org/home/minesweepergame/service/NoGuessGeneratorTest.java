@@ -0,0 +1,40 @@
+package org.home.minesweepergame.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoGuessGeneratorTest {
+
+    private final NoGuessGenerator generator = new NoGuessGenerator(Duration.ofSeconds(5), 2);
+
+    @Test
+    void sameSeedAndFirstClickGiveTheSameSolvableBoard() {
+        NoGuessGenerator.Result first = generator.generate(16, 30, 99, 8, 15, 2024L);
+        NoGuessGenerator.Result second = generator.generate(16, 30, 99, 8, 15, 2024L);
+
+        assertTrue(first.isNoGuess());
+        assertEquals(first.getLayout().getSeed(), second.getLayout().getSeed());
+        assertTrue(NoGuessSolver.isSolvable(first.getLayout(), 99, 8, 15));
+        // The stored seed alone regenerates the board
+        MineLayout replayed = MineLayout.forFirstClick(16, 30, 99, 8, 15, first.getLayout().getSeed());
+        for (int r = 0; r < 16; r++) {
+            for (int c = 0; c < 30; c++) {
+                assertEquals(first.getLayout().isMine(r, c), replayed.isMine(r, c));
+            }
+        }
+    }
+
+    @Test
+    void solverRejectsSomePlainRandomBoards() {
+        int rejected = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            if (!NoGuessSolver.isSolvable(MineLayout.forFirstClick(16, 30, 99, 8, 15, seed), 99, 8, 15)) {
+                rejected++;
+            }
+        }
+        assertTrue(rejected > 0, "every random HARD board was judged guess-free");
+    }
+}
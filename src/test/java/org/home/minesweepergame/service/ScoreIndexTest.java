@@ -0,0 +1,65 @@
+package org.home.minesweepergame.service;
+
+import org.home.minesweepergame.model.Difficulty;
+import org.home.minesweepergame.model.Score;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreIndexTest {
+
+    @Test
+    void ranksAndPagesMatchASortedList() {
+        SplittableRandom random = new SplittableRandom(3);
+        ScoreIndex index = new ScoreIndex();
+        List<Score> all = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Score score = new Score("game-" + i, "player-" + i, random.nextInt(500), Difficulty.HARD); // Plenty of tied times
+            score.setId("id-" + i);
+            score.setTimestamp(random.nextInt(1_000));
+            all.add(score);
+            if (i < 1_000) {
+                index.add(score);
+            }
+        }
+        index.rebuild(all.subList(0, 1_500), Long.MAX_VALUE, Set.of()); // Database view: first 1500
+        for (Score score : all.subList(1_500, 2_000)) {
+            index.add(score);
+        }
+        all.sort(Leaderboard.RANKING);
+
+        assertEquals(2_000, index.size());
+        for (int rank = 1; rank <= all.size(); rank += 37) {
+            assertEquals(rank, index.rankOf(all.get(rank - 1).getId()));
+        }
+        assertEquals(all.subList(990, 1_010), index.page(991, 20));
+        assertEquals(all.subList(1_995, 2_000), index.page(1_996, 20));
+        assertEquals(0, index.rankOf("missing"));
+    }
+
+    @Test
+    void rebuildKeepsRecentAndQueuedLocalScores() {
+        ScoreIndex index = new ScoreIndex();
+        index.add(score("recent", 1_000, 5_000));
+        index.add(score("queued", 2_000, 100));
+        index.add(score("written", 3_000, 100));
+
+        index.rebuild(List.of(), 4_000, Set.of("queued"));
+
+        assertEquals(1, index.rankOf("recent"));
+        assertEquals(2, index.rankOf("queued"));
+        assertEquals(0, index.rankOf("written")); // Gone from the database
+    }
+
+    private static Score score(String id, long timeTaken, long timestamp) {
+        Score score = new Score("g-" + id, "p", timeTaken, Difficulty.EASY);
+        score.setId(id);
+        score.setTimestamp(timestamp);
+        return score;
+    }
+}